@@ -1,14 +1,17 @@
 package dev.glitchedcoder.hangman;
 
+import dev.glitchedcoder.hangman.game.Simulator;
 import dev.glitchedcoder.hangman.json.Config;
 import dev.glitchedcoder.hangman.json.Script;
 import dev.glitchedcoder.hangman.scene.Splash;
+import dev.glitchedcoder.hangman.scene.mode.ReplayRunner;
 import dev.glitchedcoder.hangman.util.Constants;
 import dev.glitchedcoder.hangman.window.Scene;
 import dev.glitchedcoder.hangman.window.View;
 import dev.glitchedcoder.hangman.window.Window;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -20,7 +23,17 @@ public final class Hangman {
     private static ScheduledExecutorService executor;
 
     public static void main(String[] args) {
-        executor = Executors.newSingleThreadScheduledExecutor();
+        if (args.length > 0 && args[0].equals(Simulator.ARGUMENT)) {
+            // nothing is shown, so none of the window is set up
+            Simulator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals(ReplayRunner.ARGUMENT)) {
+            // played back headless, the same as simulating
+            ReplayRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        getExecutor();
         Config.loadConfig();
         Script.loadScript();
         View view = new View();
@@ -83,7 +96,24 @@ public final class Hangman {
         return window;
     }
 
-    public static ScheduledExecutorService getExecutor() {
+    /**
+     * Gets the {@link ScheduledExecutorService} shared by every {@link Scene}.
+     * <br />
+     * If one does not exist, it will be created, so
+     * {@link Scene}s can also be created without {@link #main(String[])},
+     * such as when running {@link dev.glitchedcoder.hangman.window.Headless headless}.
+     *
+     * @return The shared {@link ScheduledExecutorService}.
+     */
+    public static synchronized ScheduledExecutorService getExecutor() {
+        if (executor == null) {
+            // daemon, so the executor never keeps the JVM alive on its own
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Hangman Executor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
         return executor;
     }
 }
\ No newline at end of file
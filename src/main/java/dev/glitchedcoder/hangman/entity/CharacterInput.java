@@ -2,6 +2,7 @@ package dev.glitchedcoder.hangman.entity;
 
 import dev.glitchedcoder.hangman.json.Config;
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 
 import javax.annotation.Nonnull;
@@ -31,7 +32,7 @@ public class CharacterInput extends Entity {
         LOCKED_COLOR = Color.GREEN;
         UNLOCKED_COLOR = Color.WHITE;
         Config config = Config.getConfig();
-        SPACE_BETWEEN = (byte) (16 * config.getResolution().getScalar());
+        SPACE_BETWEEN = (byte) (16 * config.getRenderScalar());
     }
 
     CharacterInput(Scene scene, double scalar, boolean space) {
@@ -43,6 +44,7 @@ public class CharacterInput extends Entity {
                 .color(UNLOCKED_COLOR)
                 .scale(scalar)
                 .removeBackground()
+                .cached()
                 .build();
         this.bounds = new Rectangle(underscore.getWidth(), underscore.getHeight());
     }
@@ -63,6 +65,24 @@ public class CharacterInput extends Entity {
         return this.bounds;
     }
 
+    /**
+     * Gets the area the {@link CharacterInput} draws to.
+     * <br />
+     * The character is drawn above the underscore,
+     * so the area extends above the bounds.
+     *
+     * @return The area drawn to.
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        Rectangle bounds = super.getDrawBounds();
+        if (bounds == null)
+            return null;
+        bounds.y -= SPACE_BETWEEN;
+        bounds.height += SPACE_BETWEEN;
+        return bounds;
+    }
+
     @Override
     public void tick(byte count) {
         // do nothing
@@ -75,6 +95,14 @@ public class CharacterInput extends Entity {
             graphics.drawImage(texture, getLocation().getX(), getLocation().getY() - SPACE_BETWEEN, null);
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        list.image(underscore, getLocation().getX(), getLocation().getY());
+        if (!isEmpty())
+            list.image(texture, getLocation().getX(), getLocation().getY() - SPACE_BETWEEN);
+        return true;
+    }
+
     /**
      * Locks this {@link CharacterInput}.
      * <br />
@@ -143,13 +171,16 @@ public class CharacterInput extends Entity {
                 .color(locked ? LOCKED_COLOR : UNLOCKED_COLOR)
                 .scale(scale)
                 .removeBackground()
+                .cached()
                 .build();
         if (!isEmpty()) {
             this.texture = new TexturePreprocessor(String.valueOf(character))
                     .color(Color.WHITE)
                     .scale(scale)
                     .removeBackground()
+                    .cached()
                     .build();
         }
+        invalidate();
     }
 }
\ No newline at end of file
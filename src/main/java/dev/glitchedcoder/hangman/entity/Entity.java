@@ -8,6 +8,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class Entity implements Renderable {
@@ -15,6 +16,7 @@ public abstract class Entity implements Renderable {
     private final UUID id;
     private final Scene scene;
     private final EntityType type;
+    private final AtomicBoolean invalidated;
     private final AtomicReference<Location> loc;
     private final AtomicReference<RenderPriority> priority;
 
@@ -33,6 +35,7 @@ public abstract class Entity implements Renderable {
         this.scene = scene;
         this.id = UUID.randomUUID();
         this.type = type;
+        this.invalidated = new AtomicBoolean(true);
         this.loc = new AtomicReference<>(loc);
         this.priority = new AtomicReference<>(RenderPriority.NORMAL);
     }
@@ -58,6 +61,40 @@ public abstract class Entity implements Renderable {
      */
     public abstract Rectangle getBounds();
 
+    /**
+     * Gets the area the {@link Entity} draws to.
+     * <br />
+     * By default, this is the {@link #getBounds() bounding box}
+     * at the {@link #getLocation() current location}. Should be
+     * overridden if the {@link Entity} draws outside of its bounds.
+     *
+     * @return The area drawn to, or {@code null} if the {@link Entity} has no bounds.
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        Rectangle bounds = getBounds();
+        if (bounds == null)
+            return null;
+        Location loc = getLocation();
+        return new Rectangle(loc.getX(), loc.getY(), bounds.width, bounds.height);
+    }
+
+    @Override
+    public boolean pollInvalidated() {
+        return this.invalidated.getAndSet(false);
+    }
+
+    /**
+     * Marks the {@link Entity} as changed, so it is redrawn next frame.
+     * <br />
+     * Should be called whenever what the {@link Entity} draws changes,
+     * such as its image or color. Changes to the {@link #getLocation() location},
+     * {@link #getBounds() bounds} or visibility are picked up without it.
+     */
+    public final void invalidate() {
+        this.invalidated.set(true);
+    }
+
     @Override
     @Nonnull
     public final UUID getId() {
@@ -191,6 +228,7 @@ public abstract class Entity implements Renderable {
      */
     public final void setVisible(boolean visible) {
         this.visible = visible;
+        invalidate();
     }
 
     /**
@@ -205,6 +243,7 @@ public abstract class Entity implements Renderable {
      */
     public final void setLocation(@Nonnull Location location) {
         this.loc.set(location);
+        invalidate();
     }
 
     /**
@@ -215,5 +254,6 @@ public abstract class Entity implements Renderable {
     public void setRenderPriority(@Nonnull RenderPriority priority) {
         Validator.requireNotNull(priority, "Given priority is null!");
         this.priority.set(priority);
+        invalidate();
     }
 }
\ No newline at end of file
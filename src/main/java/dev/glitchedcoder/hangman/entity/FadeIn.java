@@ -2,6 +2,7 @@ package dev.glitchedcoder.hangman.entity;
 
 import dev.glitchedcoder.hangman.json.Config;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Resolution;
 import dev.glitchedcoder.hangman.window.Scene;
 
@@ -32,7 +33,7 @@ public class FadeIn extends Entity {
 
     @Override
     protected void onLoad() {
-        Resolution resolution = Config.getConfig().getResolution();
+        Resolution resolution = Config.getConfig().getRenderResolution();
         this.bounds = new Rectangle(resolution.getWidth(), resolution.getHeight());
     }
 
@@ -54,6 +55,7 @@ public class FadeIn extends Entity {
             return;
         short newAlpha = (short) Math.max(MIN_ALPHA, color.getAlpha() - skip);
         this.color = new Color(color.getRed(), color.getGreen(), color.getRed(), newAlpha);
+        invalidate();
         if (newAlpha == MIN_ALPHA) {
             this.finished = true;
             if (this.onFinish != null)
@@ -67,6 +69,12 @@ public class FadeIn extends Entity {
         graphics.fill(this.bounds);
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        list.fill(this.color, this.bounds);
+        return true;
+    }
+
     @Nonnull
     @Override
     public RenderPriority getRenderPriority() {
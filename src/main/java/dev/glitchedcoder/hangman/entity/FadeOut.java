@@ -2,6 +2,7 @@ package dev.glitchedcoder.hangman.entity;
 
 import dev.glitchedcoder.hangman.json.Config;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Resolution;
 import dev.glitchedcoder.hangman.window.Scene;
 import lombok.EqualsAndHashCode;
@@ -34,7 +35,7 @@ public class FadeOut extends Entity {
 
     @Override
     protected void onLoad() {
-        Resolution resolution = Config.getConfig().getResolution();
+        Resolution resolution = Config.getConfig().getRenderResolution();
         this.bounds = new Rectangle(resolution.getWidth(), resolution.getHeight());
     }
 
@@ -56,6 +57,7 @@ public class FadeOut extends Entity {
             return;
         short newAlpha = (short) Math.min(MAX_ALPHA, color.getAlpha() + skip);
         this.color = new Color(color.getRed(), color.getGreen(), color.getRed(), newAlpha);
+        invalidate();
         if (newAlpha == MAX_ALPHA) {
             this.finished = true;
             if (this.onFinish != null)
@@ -69,6 +71,12 @@ public class FadeOut extends Entity {
         graphics.fill(this.bounds);
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        list.fill(this.color, this.bounds);
+        return true;
+    }
+
     @Nonnull
     @Override
     public RenderPriority getRenderPriority() {
@@ -2,6 +2,7 @@ package dev.glitchedcoder.hangman.entity;
 
 import dev.glitchedcoder.hangman.ui.Texture;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 import lombok.EqualsAndHashCode;
 
@@ -20,7 +21,7 @@ public class FixedTexture extends Entity {
     @ParametersAreNonnullByDefault
     public FixedTexture(Scene scene, Texture texture) {
         super(scene, EntityType.FIXED_TEXTURE);
-        this.image = texture.asImage();
+        this.image = texture.asSharedImage();
         Validator.requireNotNull(this.image, "Failed to load texture '{}'!", texture.name());
         this.bounds = new Rectangle(image.getWidth(), image.getHeight());
     }
@@ -58,6 +59,12 @@ public class FixedTexture extends Entity {
         graphics.drawImage(this.image, getLocation().getX(), getLocation().getY(), null);
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        list.image(this.image, getLocation().getX(), getLocation().getY());
+        return true;
+    }
+
     /**
      * Sets the {@link Texture} of the {@link FixedTexture}.
      *
@@ -65,10 +72,11 @@ public class FixedTexture extends Entity {
      */
     public void setTexture(@Nonnull Texture texture) {
         Validator.requireNotNull(texture, "Given texture is null!");
-        BufferedImage image = texture.asImage();
+        BufferedImage image = texture.asSharedImage();
         Validator.requireNotNull(image, "Could not load texture '{}'!", texture.name());
         this.image = image;
         this.bounds = new Rectangle(image.getWidth(), image.getHeight());
+        invalidate();
     }
 
     /**
@@ -80,5 +88,6 @@ public class FixedTexture extends Entity {
         Validator.requireNotNull(image, "Given image is null!");
         this.image = image;
         this.bounds = new Rectangle(image.getWidth(), image.getHeight());
+        invalidate();
     }
 }
\ No newline at end of file
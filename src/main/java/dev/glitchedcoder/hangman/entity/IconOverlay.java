@@ -4,6 +4,7 @@ import dev.glitchedcoder.hangman.ui.Icon;
 import dev.glitchedcoder.hangman.ui.Texture;
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 
 import javax.annotation.Nonnull;
@@ -79,6 +80,14 @@ public class IconOverlay extends Entity {
             graphics.drawImage(this.images[i], getLocation().getX(), getLocation().getY() + (i * height), null);
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        int height = this.images[0].getHeight();
+        for (byte i = 0; i < MATRIX_SIZE; i++)
+            list.image(this.images[i], getLocation().getX(), getLocation().getY() + (i * height));
+        return true;
+    }
+
     @Nonnull
     @Override
     public RenderPriority getRenderPriority() {
@@ -183,5 +192,6 @@ public class IconOverlay extends Entity {
             }
             this.images[b] = image;
         }
+        invalidate();
     }
 }
@@ -2,6 +2,7 @@ package dev.glitchedcoder.hangman.entity;
 
 import dev.glitchedcoder.hangman.ui.Texture;
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 
 import javax.annotation.Nonnull;
@@ -50,11 +51,20 @@ public class LightFixture extends Entity {
 
     @Override
     public void tick(byte count) {
-        this.on = RANDOM.nextInt(flickerChance) != 0;
+        boolean on = RANDOM.nextInt(flickerChance) != 0;
+        if (on != this.on)
+            invalidate();
+        this.on = on;
     }
 
     @Override
     public void draw(@Nonnull Graphics2D graphics) {
         graphics.drawImage(on ? lightOn : lightOff, getLocation().getX(), getLocation().getY(), null);
     }
+
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        list.image(on ? lightOn : lightOff, getLocation().getX(), getLocation().getY());
+        return true;
+    }
 }
\ No newline at end of file
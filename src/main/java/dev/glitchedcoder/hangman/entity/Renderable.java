@@ -1,7 +1,11 @@
 package dev.glitchedcoder.hangman.entity;
 
+import dev.glitchedcoder.hangman.window.DrawList;
+
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.util.UUID;
 
 public interface Renderable extends Comparable<Renderable> {
@@ -101,6 +105,59 @@ public interface Renderable extends Comparable<Renderable> {
         return RenderPriority.NORMAL;
     }
 
+    /**
+     * Gets the area the {@link Renderable} object draws to.
+     * <br />
+     * Used by the {@link dev.glitchedcoder.hangman.window.Scene} to
+     * only redraw the parts of the screen that have changed.
+     * <br />
+     * By default, this method returns {@code null}, meaning
+     * the area is unknown and the whole screen is redrawn
+     * every frame the {@link Renderable} object is drawn.
+     *
+     * @return The area drawn to, or {@code null} if unknown.
+     */
+    @Nullable
+    default Rectangle getDrawBounds() {
+        return null;
+    }
+
+    /**
+     * Records what the {@link Renderable} object would currently
+     * {@link #draw(Graphics2D) draw} into the given {@link DrawList}.
+     * <br />
+     * Used when the {@link dev.glitchedcoder.hangman.window.Scene} is drawn
+     * on a separate render thread, which then replays the recording instead
+     * of calling {@link #draw(Graphics2D)}. Called on the same thread as
+     * {@link #tick(byte)}.
+     * <br />
+     * By default, this method records nothing and returns {@code false},
+     * meaning {@link #draw(Graphics2D)} is called on the render thread.
+     *
+     * @param list The list to record into.
+     * @return True if recorded, false if the {@link Renderable} object can't be recorded.
+     */
+    default boolean record(@Nonnull DrawList list) {
+        return false;
+    }
+
+    /**
+     * Gets and clears whether the {@link Renderable} object
+     * has changed since it was last drawn.
+     * <br />
+     * Changes to the {@link #getDrawBounds() draw bounds} or
+     * to {@link #shouldDraw()} are picked up by the
+     * {@link dev.glitchedcoder.hangman.window.Scene} regardless,
+     * so this only needs to account for what is drawn.
+     * <br />
+     * By default, this method always returns {@code true}.
+     *
+     * @return True if the {@link Renderable} object needs to be redrawn, false otherwise.
+     */
+    default boolean pollInvalidated() {
+        return true;
+    }
+
     default int compareTo(Renderable o) {
         return getRenderPriority().compareTo(o.getRenderPriority());
     }
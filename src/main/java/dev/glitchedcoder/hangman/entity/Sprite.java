@@ -2,6 +2,7 @@ package dev.glitchedcoder.hangman.entity;
 
 import dev.glitchedcoder.hangman.ui.AnimatedTexture;
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 
 import javax.annotation.Nonnull;
@@ -53,6 +54,7 @@ public class Sprite extends Entity {
                 ++index;
             else
                 index = 0;
+            invalidate();
         }
     }
 
@@ -60,4 +62,10 @@ public class Sprite extends Entity {
     public void draw(@Nonnull Graphics2D graphics) {
         graphics.drawImage(textures[index], getLocation().getX(), getLocation().getY(), null);
     }
+
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        list.image(textures[index], getLocation().getX(), getLocation().getY());
+        return true;
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import dev.glitchedcoder.hangman.ui.Portrait;
 import dev.glitchedcoder.hangman.ui.Texture;
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 
 import javax.annotation.Nonnull;
@@ -43,12 +44,12 @@ public class TextBox extends Entity {
         MAX_CHARACTERS_PER_LINE = 26;
         MAX_CHARACTERS = (byte) (MAX_LINES * MAX_CHARACTERS_PER_LINE);
         Config config = Config.getConfig();
-        SPACE_BETWEEN_PORTRAIT = (byte) (10 * config.getResolution().getScalar());
-        SPACE_BETWEEN_BOX = (byte) (30 * config.getResolution().getScalar());
+        SPACE_BETWEEN_PORTRAIT = (byte) (10 * config.getRenderScalar());
+        SPACE_BETWEEN_BOX = (byte) (30 * config.getRenderScalar());
         BOX_SCALE = 7;
         TEXT_SCALE = 2;
         PORTRAIT_SCALE = 3.5;
-        LINE_HEIGHT = (short) (32 * config.getResolution().getScalar());
+        LINE_HEIGHT = (short) (32 * config.getRenderScalar());
     }
 
     @ParametersAreNonnullByDefault
@@ -106,6 +107,21 @@ public class TextBox extends Entity {
         }
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        Location loc = getLocation();
+        list.image(boxImage, loc.getX(), loc.getY());
+        list.image(portraitImage, portraitLoc.getX(), portraitLoc.getY());
+        for (byte b = 0; b < MAX_LINES; b++) {
+            BufferedImage line = lineImages[b];
+            if (line == null)
+                continue;
+            list.image(line, (portraitLoc.getX() + portraitImage.getWidth() + SPACE_BETWEEN_PORTRAIT),
+                    (portraitLoc.getY() + (b * LINE_HEIGHT)));
+        }
+        return true;
+    }
+
     /**
      * Goes on to the next line of the {@link TextBox}.
      * <br />
@@ -190,6 +206,7 @@ public class TextBox extends Entity {
         this.portraitImage = new TexturePreprocessor(portrait.getTexture())
                 .scale(PORTRAIT_SCALE)
                 .build();
+        invalidate();
     }
 
     /**
@@ -221,5 +238,6 @@ public class TextBox extends Entity {
                     .removeBackground()
                     .build();
         }
+        invalidate();
     }
 }
\ No newline at end of file
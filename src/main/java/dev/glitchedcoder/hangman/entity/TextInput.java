@@ -3,6 +3,7 @@ package dev.glitchedcoder.hangman.entity;
 import dev.glitchedcoder.hangman.ui.CharMap;
 import dev.glitchedcoder.hangman.util.Constants;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 import dev.glitchedcoder.hangman.window.key.Key;
 
@@ -50,6 +51,33 @@ public class TextInput extends Entity {
         return this.bounds;
     }
 
+    /**
+     * Gets the area the {@link TextInput} draws to.
+     * <br />
+     * This is the union of the area of every {@link CharacterInput}.
+     *
+     * @return The area drawn to.
+     */
+    @Override
+    public Rectangle getDrawBounds() {
+        Rectangle union = null;
+        for (CharacterInput input : this.list) {
+            Rectangle bounds = input.getDrawBounds();
+            if (bounds == null)
+                continue;
+            union = union == null ? bounds : union.union(bounds);
+        }
+        return union == null ? super.getDrawBounds() : union;
+    }
+
+    @Override
+    public boolean pollInvalidated() {
+        boolean invalidated = super.pollInvalidated();
+        for (CharacterInput input : this.list)
+            invalidated |= input.pollInvalidated();
+        return invalidated;
+    }
+
     @Override
     public void tick(byte count) {
         // do nothing
@@ -61,6 +89,13 @@ public class TextInput extends Entity {
             input.draw(graphics);
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        for (CharacterInput input : this.list)
+            input.record(list);
+        return true;
+    }
+
     /**
      * Gets the word stored in the {@link TextInput}.
      * <br />
@@ -2,6 +2,7 @@ package dev.glitchedcoder.hangman.entity;
 
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 
 import javax.annotation.Nonnull;
@@ -29,7 +30,8 @@ public class Timer extends Entity {
         this.time = new AtomicInteger(timeInSec);
         this.preprocessor = new TexturePreprocessor(formatTime(timeInSec))
                 .scale(scale)
-                .color(color);
+                .color(color)
+                .cached();
         this.text = preprocessor.build();
         this.bounds = new Rectangle(text.getWidth(), text.getHeight());
         this.paused = true;
@@ -57,8 +59,10 @@ public class Timer extends Entity {
             return;
         if (count == 0) {
             int newTime = time.getAndDecrement();
-            if (newTime >= 0)
+            if (newTime >= 0) {
                 this.text = preprocessor.setText(formatTime(newTime)).build();
+                invalidate();
+            }
             if (newTime == 0) {
                 this.paused = true;
                 if (onFinish != null)
@@ -72,6 +76,12 @@ public class Timer extends Entity {
         graphics.drawImage(this.text, getLocation().getX(), getLocation().getY(), null);
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        list.image(this.text, getLocation().getX(), getLocation().getY());
+        return true;
+    }
+
     /**
      * Starts the {@link Timer}.
      */
@@ -0,0 +1,126 @@
+package dev.glitchedcoder.hangman.game;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The rules of a game of hangman, as a scene plays it.
+ * <br />
+ * Letters and positions are passed around as bits, the same as in a
+ * {@link GameEngine}, {@code a} being bit {@code 0} and the first
+ * position of the word bit {@code 0}.
+ *
+ * @see GameEngine
+ * @see EvilEngine
+ */
+public interface Engine {
+
+    /**
+     * Guesses a letter.
+     * <br />
+     * A letter that was already guessed changes nothing, so
+     * {@link #isGuessed(char)} should be checked beforehand.
+     *
+     * @param c The letter, from {@code a} to {@code z}.
+     * @return The positions the letter was revealed at, as bits,
+     *         or {@code 0} if it isn't in the word or was already guessed.
+     * @throws IllegalArgumentException Thrown if the letter is not from {@code a} to {@code z}.
+     */
+    int guessLetter(char c);
+
+    /**
+     * Guesses the whole word.
+     *
+     * @param guess The guessed word, the same length as the word.
+     * @return The positions that were right, as bits.
+     * @throws IllegalArgumentException Thrown if the guess is null or a different length.
+     */
+    int guessWord(@Nonnull CharSequence guess);
+
+    /**
+     * Gets whether the given letter was guessed.
+     *
+     * @param c The letter, from {@code a} to {@code z}.
+     * @return True if the letter was guessed, false otherwise.
+     */
+    boolean isGuessed(char c);
+
+    /**
+     * Gets whether the position is revealed.
+     *
+     * @param index The position in the word.
+     * @return True if the letter at the position is revealed, false otherwise.
+     */
+    boolean isRevealed(int index);
+
+    /**
+     * Gets whether every letter of the word is revealed.
+     *
+     * @return True if the game is won, false otherwise.
+     */
+    boolean isWon();
+
+    /**
+     * Gets whether there are no guesses left.
+     *
+     * @return True if the game is lost, false otherwise.
+     */
+    boolean isLost();
+
+    /**
+     * Gets whether the game is won or lost.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    boolean isOver();
+
+    /**
+     * Gets the amount of guesses left.
+     *
+     * @return The amount of guesses left.
+     */
+    int getGuesses();
+
+    /**
+     * Gets the length of the word.
+     *
+     * @return The length of the word.
+     */
+    int getLength();
+
+    /**
+     * Gets the letter at the given position, if it is revealed.
+     *
+     * @param index The position in the word.
+     * @return The letter, or {@code 0} if it isn't revealed.
+     */
+    char getLetter(int index);
+
+    /**
+     * Gets the word, which is only final once the game is over.
+     *
+     * @return The word.
+     */
+    @Nonnull
+    String getWord();
+
+    /**
+     * Gets every letter that was guessed, as bits.
+     *
+     * @return The guessed letters.
+     */
+    int getGuessed();
+
+    /**
+     * Gets every guessed letter that isn't in the word, as bits.
+     *
+     * @return The wrongly guessed letters.
+     */
+    int getWrong();
+
+    /**
+     * Gets every revealed position, as bits.
+     *
+     * @return The revealed positions.
+     */
+    int getRevealed();
+}
@@ -0,0 +1,268 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The rules of a game of hangman where the word is never picked.
+ * <br />
+ * Every word of the length starts out as the word. When a letter is guessed,
+ * the words are split into families by where the letter is in them, and only the
+ * largest family is kept, preferring words without the letter and then the ones
+ * revealing the fewest positions. The word only becomes one word once there is
+ * no other word left that fits.
+ * <br />
+ * Otherwise, the rules are the same as a {@link GameEngine}:
+ * guessing a letter that isn't in the word costs a guess, and guessing the
+ * word costs two, unless it's the last word that fits.
+ */
+public final class EvilEngine implements Engine {
+
+    private int size;
+    private int guesses;
+    private int guessed;
+    private int revealed;
+
+    private final int length;
+    private final int complete;
+    private final char[] known;
+    private final int[] candidates;
+    private final WordList words;
+    private final Partition partition;
+
+    /**
+     * Creates a game with every word of the given length.
+     *
+     * @param words  The words the game can pick from.
+     * @param length The length of the word.
+     * @throws IllegalArgumentException Thrown if the words are null, or there are no words of the given length.
+     */
+    public EvilEngine(@Nonnull WordList words, int length) {
+        Validator.requireNotNull(words, "Given words are null!");
+        Validator.checkArgument(words.size(length) > 0, "There are no words of length {}.", length);
+        this.words = words;
+        this.length = length;
+        this.size = words.size(length);
+        this.candidates = new int[size];
+        for (int i = 0; i < size; i++)
+            candidates[i] = i;
+        this.known = new char[length];
+        this.complete = (1 << length) - 1;
+        this.guesses = GameEngine.getStartingGuesses(length);
+        this.partition = new Partition();
+    }
+
+    /**
+     * Guesses a letter, keeping the largest family of words.
+     * <br />
+     * A letter that was already guessed changes nothing, so
+     * {@link #isGuessed(char)} should be checked beforehand.
+     *
+     * @param c The letter, from {@code a} to {@code z}.
+     * @return The positions of the letter in the word, as bits,
+     *         or {@code 0} if it isn't in the word or was already guessed.
+     * @throws IllegalArgumentException Thrown if the letter is not from {@code a} to {@code z}.
+     */
+    @Override
+    public int guessLetter(char c) {
+        int bit = GameEngine.bit(c);
+        if ((guessed & bit) != 0)
+            return 0;
+        this.guessed |= bit;
+        int families = partition.split(words, length, candidates, size, c - 'a');
+        int best = 0;
+        for (int f = 1; f < families; f++) {
+            if (isBetter(f, best))
+                best = f;
+        }
+        int found = partition.getMask(best);
+        this.size = partition.copy(best, candidates);
+        this.revealed |= found;
+        for (int p = found; p != 0; p &= p - 1)
+            known[Integer.numberOfTrailingZeros(p)] = c;
+        if (found == 0)
+            loseGuesses(1);
+        return found;
+    }
+
+    private boolean isBetter(int family, int other) {
+        int size = partition.getSize(family);
+        int otherSize = partition.getSize(other);
+        if (size != otherSize)
+            return size > otherSize;
+        // reveal as little as possible, not at all being the least
+        return Integer.bitCount(partition.getMask(family)) < Integer.bitCount(partition.getMask(other));
+    }
+
+    /**
+     * Guesses the whole word.
+     * <br />
+     * The guess is only right if it's the last word that fits,
+     * otherwise it's taken out of the words and costs two guesses.
+     *
+     * @param guess The guessed word, the same length as the word.
+     * @return Every position if the guess was right, {@code 0} otherwise.
+     * @throws IllegalArgumentException Thrown if the guess is null or a different length.
+     */
+    @Override
+    public int guessWord(@Nonnull CharSequence guess) {
+        Validator.requireNotNull(guess, "Given guess is null!");
+        Validator.checkArgument(guess.length() == length, "Given guess '{}' has invalid length.", guess);
+        int index = -1;
+        for (int i = 0; i < size && index == -1; i++) {
+            if (words.get(length, candidates[i]).contentEquals(guess))
+                index = i;
+        }
+        if (index != -1 && size == 1) {
+            this.revealed = complete;
+            String word = words.get(length, candidates[0]);
+            word.getChars(0, length, known, 0);
+            return complete;
+        }
+        if (index != -1)
+            candidates[index] = candidates[--size];
+        loseGuesses(2);
+        return 0;
+    }
+
+    private void loseGuesses(int amount) {
+        this.guesses = Math.max(0, guesses - amount);
+    }
+
+    /**
+     * Gets whether the given letter was guessed.
+     *
+     * @param c The letter, from {@code a} to {@code z}.
+     * @return True if the letter was guessed, false otherwise.
+     */
+    @Override
+    public boolean isGuessed(char c) {
+        return (guessed & GameEngine.bit(c)) != 0;
+    }
+
+    /**
+     * Gets whether the position is revealed.
+     *
+     * @param index The position in the word.
+     * @return True if the letter at the position is revealed, false otherwise.
+     */
+    @Override
+    public boolean isRevealed(int index) {
+        return (revealed >>> index & 1) != 0;
+    }
+
+    /**
+     * Gets whether every letter of the word is revealed.
+     *
+     * @return True if the game is won, false otherwise.
+     */
+    @Override
+    public boolean isWon() {
+        return revealed == complete;
+    }
+
+    /**
+     * Gets whether there are no guesses left.
+     *
+     * @return True if the game is lost, false otherwise.
+     */
+    @Override
+    public boolean isLost() {
+        return guesses == 0 && !isWon();
+    }
+
+    /**
+     * Gets whether the game is won or lost.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    @Override
+    public boolean isOver() {
+        return guesses == 0 || isWon();
+    }
+
+    /**
+     * Gets the amount of guesses left.
+     *
+     * @return The amount of guesses left.
+     */
+    @Override
+    public int getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Gets the length of the word.
+     *
+     * @return The length of the word.
+     */
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the amount of words that still fit.
+     *
+     * @return The amount of words.
+     */
+    public int getCandidates() {
+        return size;
+    }
+
+    /**
+     * Gets a word that still fits, which is the word once the game is over.
+     *
+     * @return The word.
+     */
+    @Override
+    @Nonnull
+    public String getWord() {
+        return words.get(length, candidates[0]);
+    }
+
+    /**
+     * Gets the letter at the given position, if it is revealed.
+     *
+     * @param index The position in the word.
+     * @return The letter, or {@code 0} if it isn't revealed.
+     */
+    @Override
+    public char getLetter(int index) {
+        return known[index];
+    }
+
+    /**
+     * Gets every letter that was guessed, as bits.
+     *
+     * @return The guessed letters.
+     */
+    @Override
+    public int getGuessed() {
+        return guessed;
+    }
+
+    /**
+     * Gets every guessed letter that isn't in the word, as bits.
+     *
+     * @return The wrongly guessed letters.
+     */
+    @Override
+    public int getWrong() {
+        int right = 0;
+        for (int p = revealed; p != 0; p &= p - 1)
+            right |= GameEngine.bit(known[Integer.numberOfTrailingZeros(p)]);
+        return guessed & ~right;
+    }
+
+    /**
+     * Gets every revealed position, as bits.
+     *
+     * @return The revealed positions.
+     */
+    @Override
+    public int getRevealed() {
+        return revealed;
+    }
+}
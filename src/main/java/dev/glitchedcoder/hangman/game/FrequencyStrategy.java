@@ -0,0 +1,26 @@
+package dev.glitchedcoder.hangman.game;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Guesses letters in order of how common they are in English,
+ * the way most people play.
+ */
+public final class FrequencyStrategy implements Strategy {
+
+    /**
+     * Every letter, from most to least common in English text.
+     */
+    public static final String ORDER = "etaoinshrdlcumwfgypbvkjxqz";
+
+    @Override
+    public char guess(@Nonnull GameEngine game) {
+        int guessed = game.getGuessed();
+        for (int i = 0; i < ORDER.length(); i++) {
+            char c = ORDER.charAt(i);
+            if ((guessed & GameEngine.bit(c)) == 0)
+                return c;
+        }
+        throw new IllegalStateException("Every letter was guessed.");
+    }
+}
@@ -0,0 +1,297 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The rules of a single game of hangman, without any of the UI.
+ * <br />
+ * Letters are stored as bits of an {@code int}, {@code a} being bit {@code 0}
+ * and {@code z} bit {@code 25}, and positions in the word as bits as well, so
+ * the state of a whole game is a handful of {@code int}s. Where each letter
+ * is in the word is worked out once, so guessing a letter is a lookup and
+ * a few bitwise operations, and nothing is allocated while playing.
+ * <br />
+ * A game starts with {@link #getStartingGuesses(int) fewer guesses the longer
+ * the word is}. Guessing a letter that isn't in the word costs a guess, and
+ * guessing the word costs two, unless it reveals the rest of the word.
+ * The game is won once every letter is revealed,
+ * and lost once there are no guesses left.
+ */
+public final class GameEngine implements Engine {
+
+    private int guesses;
+    private int guessed;
+    private int revealed;
+
+    private final String word;
+    private final int letters;
+    private final int complete;
+    private final int[] positions;
+
+    /**
+     * The amount of letters in the alphabet.
+     */
+    public static final int ALPHABET = 26;
+    /**
+     * The longest word a {@link GameEngine} can hold,
+     * as every position must fit in an {@code int}.
+     */
+    public static final int MAX_LENGTH = Integer.SIZE - 1;
+
+    /**
+     * Creates a game with the given word.
+     *
+     * @param word The word to guess, in lowercase.
+     * @throws IllegalArgumentException Thrown if the word is null, empty, too long,
+     *                                  or contains anything but {@code a} to {@code z}.
+     */
+    public GameEngine(@Nonnull String word) {
+        this(word, getStartingGuesses(word == null ? 0 : word.length()));
+    }
+
+    /**
+     * Creates a game with the given word and amount of guesses.
+     * <br />
+     * Starting with {@link #ALPHABET} guesses, the game can't be lost
+     * by guessing letters, which the {@link Simulator} uses to find
+     * how many guesses a word takes.
+     *
+     * @param word    The word to guess, in lowercase.
+     * @param guesses The amount of guesses to start with.
+     * @throws IllegalArgumentException Thrown if the word is null, empty, too long,
+     *                                  or contains anything but {@code a} to {@code z},
+     *                                  or if the amount of guesses is less than {@code 1}.
+     */
+    public GameEngine(@Nonnull String word, int guesses) {
+        Validator.requireNotNull(word, "Given word is null!");
+        Validator.checkArgument(guesses > 0, "Given guesses ({}) must be positive.", guesses);
+        Validator.checkArgument(!word.isEmpty() && word.length() <= MAX_LENGTH, "Given word '{}' has invalid length.", word);
+        this.word = word;
+        this.positions = new int[ALPHABET];
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = word.charAt(i) - 'a';
+            Validator.checkArgument(letter >= 0 && letter < ALPHABET, "Given word '{}' is not lowercase a-z.", word);
+            this.positions[letter] |= 1 << i;
+            mask |= 1 << letter;
+        }
+        this.letters = mask;
+        this.complete = (1 << word.length()) - 1;
+        this.guesses = guesses;
+    }
+
+    /**
+     * Gets the amount of guesses a game starts with for a word of the given length.
+     *
+     * @param length The length of the word.
+     * @return The starting amount of guesses.
+     */
+    public static int getStartingGuesses(int length) {
+        return (int) ((ALPHABET - length) * (2D / 3D));
+    }
+
+    /**
+     * Gets the bit of the given letter.
+     *
+     * @param c The letter, from {@code a} to {@code z}.
+     * @return The bit of the letter.
+     * @throws IllegalArgumentException Thrown if the letter is not from {@code a} to {@code z}.
+     */
+    public static int bit(char c) {
+        Validator.checkArgument(c >= 'a' && c <= 'z', "Given letter '{}' is not a-z.", c);
+        return 1 << (c - 'a');
+    }
+
+    /**
+     * Guesses a letter.
+     * <br />
+     * A letter that was already guessed changes nothing, so
+     * {@link #isGuessed(char)} should be checked beforehand.
+     *
+     * @param c The letter, from {@code a} to {@code z}.
+     * @return The positions of the letter in the word, as bits,
+     *         or {@code 0} if it isn't in the word or was already guessed.
+     * @throws IllegalArgumentException Thrown if the letter is not from {@code a} to {@code z}.
+     */
+    @Override
+    public int guessLetter(char c) {
+        int bit = bit(c);
+        if ((guessed & bit) != 0)
+            return 0;
+        this.guessed |= bit;
+        int found = positions[c - 'a'];
+        this.revealed |= found;
+        if (found == 0)
+            loseGuesses(1);
+        return found;
+    }
+
+    /**
+     * Guesses the whole word.
+     * <br />
+     * Every letter in the right position is revealed. Unless that
+     * reveals the rest of the word, the guess costs two guesses.
+     *
+     * @param guess The guessed word, the same length as the word.
+     * @return The positions that were right, as bits.
+     * @throws IllegalArgumentException Thrown if the guess is null or a different length.
+     */
+    @Override
+    public int guessWord(@Nonnull CharSequence guess) {
+        Validator.requireNotNull(guess, "Given guess is null!");
+        Validator.checkArgument(guess.length() == word.length(), "Given guess '{}' has invalid length.", guess);
+        int matches = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (guess.charAt(i) == word.charAt(i))
+                matches |= 1 << i;
+        }
+        this.revealed |= matches;
+        if (revealed != complete)
+            loseGuesses(2);
+        return matches;
+    }
+
+    private void loseGuesses(int amount) {
+        this.guesses = Math.max(0, guesses - amount);
+    }
+
+    /**
+     * Gets whether the given letter was guessed.
+     *
+     * @param c The letter, from {@code a} to {@code z}.
+     * @return True if the letter was guessed, false otherwise.
+     */
+    @Override
+    public boolean isGuessed(char c) {
+        return (guessed & bit(c)) != 0;
+    }
+
+    /**
+     * Gets whether the position is revealed.
+     *
+     * @param index The position in the word.
+     * @return True if the letter at the position is revealed, false otherwise.
+     */
+    @Override
+    public boolean isRevealed(int index) {
+        return (revealed >>> index & 1) != 0;
+    }
+
+    /**
+     * Gets whether every letter of the word is revealed.
+     *
+     * @return True if the game is won, false otherwise.
+     */
+    @Override
+    public boolean isWon() {
+        return revealed == complete;
+    }
+
+    /**
+     * Gets whether there are no guesses left.
+     *
+     * @return True if the game is lost, false otherwise.
+     */
+    @Override
+    public boolean isLost() {
+        return guesses == 0 && !isWon();
+    }
+
+    /**
+     * Gets whether the game is won or lost.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    @Override
+    public boolean isOver() {
+        return guesses == 0 || isWon();
+    }
+
+    /**
+     * Gets the amount of guesses left.
+     *
+     * @return The amount of guesses left.
+     */
+    @Override
+    public int getGuesses() {
+        return guesses;
+    }
+
+    @Override
+    public int getLength() {
+        return word.length();
+    }
+
+    @Override
+    public char getLetter(int index) {
+        return isRevealed(index) ? word.charAt(index) : 0;
+    }
+
+    /**
+     * Gets the word to guess.
+     *
+     * @return The word.
+     */
+    @Override
+    @Nonnull
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Gets the positions of the given letter in the word, as bits.
+     *
+     * @param c The letter, from {@code a} to {@code z}.
+     * @return The positions of the letter, or {@code 0} if it isn't in the word.
+     */
+    public int getPositions(char c) {
+        bit(c);
+        return positions[c - 'a'];
+    }
+
+    /**
+     * Gets every letter that was guessed, as bits.
+     *
+     * @return The guessed letters.
+     */
+    @Override
+    public int getGuessed() {
+        return guessed;
+    }
+
+    /**
+     * Gets every guessed letter that isn't in the word, as bits.
+     *
+     * @return The wrongly guessed letters.
+     */
+    @Override
+    public int getWrong() {
+        return guessed & ~letters;
+    }
+
+    /**
+     * Gets every revealed position, as bits.
+     *
+     * @return The revealed positions.
+     */
+    @Override
+    public int getRevealed() {
+        return revealed;
+    }
+
+    /**
+     * Gets the given letters in alphabetical order, each followed by a space.
+     *
+     * @param letters The letters, as bits.
+     * @return The letters, or an empty string if none are given.
+     */
+    @Nonnull
+    public static String toString(int letters) {
+        StringBuilder builder = new StringBuilder(Integer.bitCount(letters) * 2);
+        for (int bits = letters; bits != 0; bits &= bits - 1)
+            builder.append((char) ('a' + Integer.numberOfTrailingZeros(bits))).append(' ');
+        return builder.toString();
+    }
+}
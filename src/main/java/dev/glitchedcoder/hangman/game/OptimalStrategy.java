@@ -0,0 +1,81 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * Guesses the letter most likely to be in the word,
+ * knowing every word the game could have picked.
+ * <br />
+ * The words of the right length that still fit what was revealed are kept,
+ * and each guess is the letter found in the most of them. Guessing the
+ * likeliest letter is not always the fewest wrong guesses overall,
+ * but it is close, and is how a player who knew the word list would play.
+ */
+public final class OptimalStrategy implements Strategy {
+
+    private int length;
+    private int count;
+    private int checked;
+    private int[] candidates;
+
+    private final WordList words;
+    private final int[] counts;
+    private final Strategy fallback;
+
+    /**
+     * Creates an {@link OptimalStrategy}.
+     *
+     * @param words The words the game picks from.
+     */
+    public OptimalStrategy(@Nonnull WordList words) {
+        this.words = Validator.requireNotNull(words);
+        this.counts = new int[GameEngine.ALPHABET];
+        this.candidates = new int[0];
+        this.fallback = new FrequencyStrategy();
+    }
+
+    @Override
+    public void start(@Nonnull GameEngine game) {
+        this.length = game.getWord().length();
+        this.count = words.size(length);
+        this.checked = 0;
+        if (candidates.length < count)
+            this.candidates = new int[count];
+        for (int i = 0; i < count; i++)
+            candidates[i] = i;
+    }
+
+    @Override
+    public char guess(@Nonnull GameEngine game) {
+        int guessed = game.getGuessed();
+        // drop the words that don't fit the letters guessed since the last guess
+        for (int letters = guessed & ~checked; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int found = game.getPositions((char) ('a' + letter));
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (words.getPositions(length, candidates[i], letter) == found)
+                    candidates[kept++] = candidates[i];
+            }
+            this.count = kept;
+        }
+        this.checked = guessed;
+        // the word isn't in the list, so nothing is known about it
+        if (count == 0)
+            return fallback.guess(game);
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < count; i++) {
+            for (int letters = words.getLetters(length, candidates[i]) & ~guessed; letters != 0; letters &= letters - 1)
+                counts[Integer.numberOfTrailingZeros(letters)]++;
+        }
+        int best = -1;
+        for (int letter = 0; letter < GameEngine.ALPHABET; letter++) {
+            if ((guessed >>> letter & 1) == 0 && (best == -1 || counts[letter] > counts[best]))
+                best = letter;
+        }
+        return (char) ('a' + best);
+    }
+}
@@ -0,0 +1,134 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Splits words into families by where a letter is in them.
+ * <br />
+ * Every word with the letter at the same positions, or not at all, is in the
+ * same family. The words are counted by their positions of the letter, then
+ * sorted into one array with each family in a row, the same as a counting sort,
+ * so splitting takes two passes over the words and nothing is allocated once
+ * the arrays are big enough.
+ * <br />
+ * The families are only valid until the next {@link #split(WordList, int, int[], int, int) split},
+ * and a {@link Partition} should only be used by one thread.
+ */
+public final class Partition {
+
+    private int families;
+    private int[] keys;
+    private int[] sorted;
+
+    // indexed by the positions of the letter
+    private final int[] counts;
+    // indexed by family
+    private final int[] masks;
+    private final int[] sizes;
+    private final int[] starts;
+
+    /**
+     * Creates a {@link Partition} for words of up to {@link Constants#MAX_WORD_LENGTH} letters.
+     */
+    public Partition() {
+        int masks = 1 << Constants.MAX_WORD_LENGTH;
+        this.counts = new int[masks];
+        this.masks = new int[masks];
+        this.sizes = new int[masks];
+        this.starts = new int[masks];
+        this.keys = new int[0];
+        this.sorted = new int[0];
+    }
+
+    /**
+     * Splits the given words into families by where the given letter is in them.
+     *
+     * @param words      The words.
+     * @param length     The length of the words.
+     * @param candidates The indexes of the words among words of the same length.
+     * @param size       The amount of indexes to read from the candidates.
+     * @param letter     The letter, from {@code 0} for {@code a} to {@code 25} for {@code z}.
+     * @return The amount of families.
+     * @throws IllegalArgumentException Thrown if the length is longer than {@link Constants#MAX_WORD_LENGTH}.
+     */
+    public int split(@Nonnull WordList words, int length, @Nonnull int[] candidates, int size, int letter) {
+        Validator.checkArgument(length <= Constants.MAX_WORD_LENGTH, "Given length {} is too long.", length);
+        if (sorted.length < size) {
+            this.keys = new int[Math.max(size, sorted.length * 2)];
+            this.sorted = new int[keys.length];
+        }
+        this.families = 0;
+        for (int i = 0; i < size; i++) {
+            // kept, so the second pass doesn't look the word up again
+            int mask = words.getPositions(length, candidates[i], letter);
+            keys[i] = mask;
+            if (counts[mask]++ == 0)
+                masks[families++] = mask;
+        }
+        // each family starts where the last one ends, and counts becomes where the next word goes
+        int start = 0;
+        for (int f = 0; f < families; f++) {
+            int mask = masks[f];
+            sizes[f] = counts[mask];
+            starts[f] = start;
+            counts[mask] = start;
+            start += sizes[f];
+        }
+        for (int i = 0; i < size; i++)
+            sorted[counts[keys[i]]++] = candidates[i];
+        for (int f = 0; f < families; f++)
+            counts[masks[f]] = 0;
+        return families;
+    }
+
+    /**
+     * Gets the amount of families of the last split.
+     *
+     * @return The amount of families.
+     */
+    public int getFamilies() {
+        return families;
+    }
+
+    /**
+     * Gets the positions of the letter in every word of the given family.
+     *
+     * @param family The family, from {@code 0} to {@link #getFamilies()}.
+     * @return The positions, as bits, or {@code 0} for the words without the letter.
+     */
+    public int getMask(int family) {
+        checkFamily(family);
+        return masks[family];
+    }
+
+    /**
+     * Gets the amount of words in the given family.
+     *
+     * @param family The family, from {@code 0} to {@link #getFamilies()}.
+     * @return The amount of words.
+     */
+    public int getSize(int family) {
+        checkFamily(family);
+        return sizes[family];
+    }
+
+    /**
+     * Copies the indexes of the words in the given family.
+     *
+     * @param family The family, from {@code 0} to {@link #getFamilies()}.
+     * @param dest   Where to copy the indexes to, from index {@code 0}.
+     * @return The amount of indexes copied.
+     */
+    public int copy(int family, @Nonnull int[] dest) {
+        checkFamily(family);
+        System.arraycopy(sorted, starts[family], dest, 0, sizes[family]);
+        return sizes[family];
+    }
+
+    private void checkFamily(int family) {
+        Validator.checkArgument(family >= 0 && family < families, "Given family {} is out of bounds.", family);
+    }
+}
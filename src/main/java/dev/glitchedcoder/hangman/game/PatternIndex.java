@@ -0,0 +1,218 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.word.Dictionary;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * An index of which words have which letter at which position,
+ * for finding every word that still fits a game.
+ * <br />
+ * For each word length, a bitset over the words of that length is kept per
+ * position and letter, along with one per letter for the words containing it.
+ * Finding the words that fit what was revealed is then one {@code AND} per
+ * revealed position, one {@code AND NOT} per wrong letter, and one per right
+ * letter and hidden position, instead of comparing against every word.
+ * <br />
+ * Word {@code i} of a length is bit {@code i % 64} of {@code long} {@code i / 64},
+ * in the same order as the {@link WordList} the index was built from.
+ */
+public final class PatternIndex {
+
+    private final WordList words;
+    // [length][position * ALPHABET + letter], the words with the letter at the position
+    private final long[][][] at;
+    // [length][letter], the words with the letter anywhere
+    private final long[][][] contains;
+
+    private static PatternIndex index;
+
+    /**
+     * Creates a {@link PatternIndex} of the given words.
+     *
+     * @param words The words.
+     */
+    public PatternIndex(@Nonnull WordList words) {
+        this.words = Validator.requireNotNull(words);
+        int lengths = GameEngine.MAX_LENGTH + 1;
+        this.at = new long[lengths][][];
+        this.contains = new long[lengths][][];
+        for (int length = 0; length < lengths; length++) {
+            int size = words.size(length);
+            if (size == 0)
+                continue;
+            int blocks = blocks(size);
+            this.at[length] = new long[length * GameEngine.ALPHABET][blocks];
+            this.contains[length] = new long[GameEngine.ALPHABET][blocks];
+            for (int i = 0; i < size; i++) {
+                long bit = 1L << i;
+                String word = words.get(length, i);
+                for (int p = 0; p < length; p++) {
+                    int letter = word.charAt(p) - 'a';
+                    this.at[length][p * GameEngine.ALPHABET + letter][i >>> 6] |= bit;
+                    this.contains[length][letter][i >>> 6] |= bit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the {@link PatternIndex} of the {@link Dictionary}, building it if needed.
+     *
+     * @return The {@link PatternIndex}, or {@code null} if the dictionary could not be loaded.
+     */
+    @Nullable
+    public static synchronized PatternIndex getIndex() {
+        if (index != null)
+            return index;
+        Dictionary dictionary = Dictionary.getDictionary();
+        if (dictionary != null)
+            index = new PatternIndex(WordList.of(dictionary));
+        return index;
+    }
+
+    /**
+     * Finds every word that fits what can be seen of the given game.
+     *
+     * @param game The game.
+     * @return The words that fit, as a bitset.
+     * @see #match(CharSequence, int, int)
+     */
+    @Nonnull
+    public long[] match(@Nonnull GameEngine game) {
+        Validator.requireNotNull(game, "Given game is null!");
+        return match(game.getWord(), game.getRevealed(), game.getGuessed());
+    }
+
+    /**
+     * Finds every word that fits the revealed letters and guessed letters.
+     * <br />
+     * A guessed letter that isn't revealed anywhere isn't in the word at all, and
+     * one that is revealed is in none of the hidden positions, as guessing a letter
+     * reveals every position of it.
+     *
+     * @param known    The word, of which only the revealed positions are read.
+     * @param revealed The revealed positions, as bits.
+     * @param guessed  The guessed letters, as bits.
+     * @return The words that fit, as a bitset.
+     * @throws IllegalArgumentException Thrown if the word is null or a revealed position isn't {@code a} to {@code z}.
+     */
+    @Nonnull
+    public long[] match(@Nonnull CharSequence known, int revealed, int guessed) {
+        Validator.requireNotNull(known, "Given word is null!");
+        int length = known.length();
+        int size = words.size(length);
+        long[] matches = new long[blocks(size)];
+        if (size == 0)
+            return matches;
+        Arrays.fill(matches, -1L);
+        // clear the bits past the last word
+        if ((size & 63) != 0)
+            matches[matches.length - 1] = (1L << size) - 1;
+        long[][] at = this.at[length];
+        int right = 0;
+        for (int p = 0; p < length; p++) {
+            if ((revealed >>> p & 1) == 0)
+                continue;
+            int bit = GameEngine.bit(Character.toLowerCase(known.charAt(p)));
+            int letter = Integer.numberOfTrailingZeros(bit);
+            right |= bit;
+            and(matches, at[p * GameEngine.ALPHABET + letter]);
+        }
+        for (int wrong = guessed & ~right; wrong != 0; wrong &= wrong - 1)
+            andNot(matches, contains[length][Integer.numberOfTrailingZeros(wrong)]);
+        int hidden = ~revealed & ((1 << length) - 1);
+        for (int letters = guessed & right; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            for (int p = hidden; p != 0; p &= p - 1)
+                andNot(matches, at[Integer.numberOfTrailingZeros(p) * GameEngine.ALPHABET + letter]);
+        }
+        return matches;
+    }
+
+    /**
+     * Counts the words in the given bitset.
+     *
+     * @param matches The words, as a bitset.
+     * @return The amount of words.
+     */
+    public static int count(@Nonnull long[] matches) {
+        int count = 0;
+        for (long block : matches)
+            count += Long.bitCount(block);
+        return count;
+    }
+
+    /**
+     * Counts the words in the given bitset that contain the given letter.
+     *
+     * @param length  The length of the words.
+     * @param matches The words, as a bitset.
+     * @param c       The letter, from {@code a} to {@code z}.
+     * @return The amount of words with the letter.
+     */
+    public int count(int length, @Nonnull long[] matches, char c) {
+        int bit = GameEngine.bit(c);
+        if (words.size(length) == 0)
+            return 0;
+        long[] letter = contains[length][Integer.numberOfTrailingZeros(bit)];
+        int count = 0;
+        for (int i = 0; i < matches.length; i++)
+            count += Long.bitCount(matches[i] & letter[i]);
+        return count;
+    }
+
+    /**
+     * Gets the letter that isn't guessed yet and is in the most of the given words.
+     * <br />
+     * Letters in as many words are picked by how common they
+     * are in English, which is also the pick if no words are given.
+     *
+     * @param length  The length of the words.
+     * @param matches The words, as a bitset.
+     * @param guessed The guessed letters, as bits.
+     * @return The best letter to guess, or {@code 0} if every letter was guessed.
+     */
+    public char bestLetter(int length, @Nonnull long[] matches, int guessed) {
+        char best = 0;
+        int most = -1;
+        for (int i = 0; i < FrequencyStrategy.ORDER.length(); i++) {
+            char c = FrequencyStrategy.ORDER.charAt(i);
+            if ((guessed & GameEngine.bit(c)) != 0)
+                continue;
+            int count = count(length, matches, c);
+            if (count > most) {
+                best = c;
+                most = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the words the index was built from.
+     *
+     * @return The {@link WordList}.
+     */
+    @Nonnull
+    public WordList getWords() {
+        return words;
+    }
+
+    private static int blocks(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    private static void and(long[] matches, long[] other) {
+        for (int i = 0; i < matches.length; i++)
+            matches[i] &= other[i];
+    }
+
+    private static void andNot(long[] matches, long[] other) {
+        for (int i = 0; i < matches.length; i++)
+            matches[i] &= ~other[i];
+    }
+}
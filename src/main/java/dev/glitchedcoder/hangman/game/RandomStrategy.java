@@ -0,0 +1,33 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import java.util.SplittableRandom;
+
+/**
+ * Guesses letters at random, as a lower bound for other {@link Strategy strategies}.
+ */
+public final class RandomStrategy implements Strategy {
+
+    private final SplittableRandom random;
+
+    /**
+     * Creates a {@link RandomStrategy}.
+     *
+     * @param random The random to pick letters with.
+     */
+    public RandomStrategy(@Nonnull SplittableRandom random) {
+        this.random = Validator.requireNotNull(random);
+    }
+
+    @Override
+    public char guess(@Nonnull GameEngine game) {
+        int left = ~game.getGuessed() & ((1 << GameEngine.ALPHABET) - 1);
+        Validator.checkArgument(left != 0, "Every letter was guessed.");
+        // skip to a random one of the letters left
+        for (int skip = random.nextInt(Integer.bitCount(left)); skip > 0; skip--)
+            left &= left - 1;
+        return (char) ('a' + Integer.numberOfTrailingZeros(left));
+    }
+}
@@ -0,0 +1,352 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.scene.mode.Phase;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.word.Dictionary;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays a large amount of games without a display or the API,
+ * to see how winnable each word length is with the
+ * {@link GameEngine#getStartingGuesses(int) starting guesses}.
+ * <br />
+ * Every game is played to the end with as many guesses as needed,
+ * counting the wrong guesses it took. The chance of winning with
+ * any amount of guesses follows from that count, so a single run
+ * shows the current formula next to what it would take to make
+ * half, most, or nearly every game winnable.
+ * <br />
+ * The {@code entropy} strategy also prints how long the {@link Solver} takes per
+ * decision: the first decision of each length, which has nothing remembered yet,
+ * and the average over every game played, once its decisions are remembered.
+ * <br />
+ * Run with {@code java -jar "Hanged Men.jar" --simulate [options]}:
+ * <ul>
+ *     <li>{@code --games=<n>} The games per strategy, split evenly between word lengths.</li>
+ *     <li>{@code --strategy=<name>} One of {@code frequency}, {@code random}, {@code optimal}, {@code entropy} or {@code all}.</li>
+ *     <li>{@code --words=<file>} A list of words, one per line, instead of the {@link Dictionary}.</li>
+ *     <li>{@code --threads=<n>} The threads to play on, every core by default.</li>
+ *     <li>{@code --seed=<n>} The seed, so a run can be repeated.</li>
+ * </ul>
+ */
+public final class Simulator {
+
+    private final long seed;
+    private final long games;
+    private final WordList words;
+    private final ExecutorService executor;
+    private Solver solver;
+
+    /**
+     * The argument that starts the {@link Simulator} instead of the game.
+     */
+    public static final String ARGUMENT = "--simulate";
+
+    // enough games per task for the overhead of a task not to matter
+    private static final int CHUNK = 20_000;
+    // every amount of wrong guesses a game can take, 0 to 25
+    private static final int OUTCOMES = GameEngine.ALPHABET;
+    // after the outcomes of a task, the decisions made and the nanoseconds they took
+    private static final int DECISIONS = OUTCOMES;
+    private static final int NANOS = OUTCOMES + 1;
+
+    private Simulator(WordList words, long games, long seed, int threads) {
+        this.words = words;
+        this.games = games;
+        this.seed = seed;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Hangman Simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the {@link Simulator} with the given options,
+     * printing the results to {@link System#out}.
+     *
+     * @param args The options, without {@link #ARGUMENT}.
+     */
+    public static void main(String[] args) {
+        long games = 1_000_000;
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        String strategy = "all";
+        File file = null;
+        try {
+            for (String arg : args) {
+                int split = arg.indexOf('=');
+                Validator.checkArgument(arg.startsWith("--") && split > 2, "Unknown option '{}'.", arg);
+                String value = arg.substring(split + 1);
+                switch (arg.substring(2, split)) {
+                    case "games":
+                        games = Long.parseLong(value);
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "strategy":
+                        strategy = value.toLowerCase(Locale.ROOT);
+                        break;
+                    case "words":
+                        file = new File(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option '" + arg + "'.");
+                }
+            }
+            Validator.checkArgument(games > 0, "Given games ({}) must be positive.", games);
+            Validator.checkArgument(threads > 0, "Given threads ({}) must be positive.", threads);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException
+            System.err.println(e.getMessage());
+            System.err.println("Usage: " + ARGUMENT + " [--games=<n>] [--strategy=frequency|random|optimal|entropy|all] "
+                    + "[--words=<file>] [--threads=<n>] [--seed=<n>]");
+            return;
+        }
+        WordList words;
+        if (file == null) {
+            Dictionary dictionary = Dictionary.getDictionary();
+            if (dictionary == null) {
+                System.err.println("The dictionary could not be loaded.");
+                return;
+            }
+            words = WordList.of(dictionary);
+        } else {
+            try {
+                words = WordList.read(file);
+            } catch (IOException e) {
+                System.err.println("Could not read '" + file + "': " + e.getMessage());
+                return;
+            }
+        }
+        List<Kind> kinds = new ArrayList<>();
+        for (Kind kind : Kind.values) {
+            if (strategy.equals("all") || strategy.equals(kind.toString()))
+                kinds.add(kind);
+        }
+        if (kinds.isEmpty()) {
+            System.err.println("Unknown strategy '" + strategy + "'.");
+            return;
+        }
+        Simulator simulator = new Simulator(words, games, seed, threads);
+        System.out.printf("Seed %d, %d threads%n", seed, threads);
+        try {
+            for (Kind kind : kinds)
+                simulator.run(kind, System.out);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        } finally {
+            simulator.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays every game with the given strategy and prints the results.
+     */
+    private void run(Kind kind, PrintStream out) throws InterruptedException, ExecutionException {
+        List<Integer> lengths = new ArrayList<>();
+        for (int length = Constants.MIN_WORD_LENGTH; length <= Constants.MAX_WORD_LENGTH; length++) {
+            if (words.size(length) > 0)
+                lengths.add(length);
+        }
+        Validator.checkArgument(!lengths.isEmpty(), "There are no words to play with.");
+        long[][] wrong = new long[Constants.MAX_WORD_LENGTH + 1][NANOS + 1];
+        long[] first = new long[Constants.MAX_WORD_LENGTH + 1];
+        if (kind == Kind.ENTROPY) {
+            // the start of every game of a length, before anything is remembered
+            Solver solver = getSolver();
+            for (int length : lengths) {
+                long before = System.nanoTime();
+                solver.solve(words.get(length, 0), 0, 0);
+                first[length] = System.nanoTime() - before;
+            }
+        }
+        List<Future<long[]>> futures = new ArrayList<>();
+        List<Integer> tasks = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < lengths.size(); i++) {
+            int length = lengths.get(i);
+            // spread the remainder over the first lengths
+            long left = games / lengths.size() + (i < games % lengths.size() ? 1 : 0);
+            for (int chunk = 0; left > 0; chunk++) {
+                int amount = (int) Math.min(CHUNK, left);
+                // every task has its own random, so a seed always plays the same games
+                SplittableRandom random = new SplittableRandom(seed ^ ((long) length << 32 | chunk));
+                futures.add(executor.submit(() -> play(kind, length, amount, random)));
+                tasks.add(length);
+                left -= amount;
+            }
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            long[] result = futures.get(i).get();
+            for (int j = 0; j < result.length; j++)
+                wrong[tasks.get(i)][j] += result[j];
+        }
+        long elapsed = System.nanoTime() - start;
+        double seconds = elapsed / 1e9;
+        out.printf("%nStrategy '%s': %,d games in %.2fs (%,.0f games/s)%n", kind, games, seconds, games / seconds);
+        out.printf("%6s %6s %7s %6s %5s %5s %5s %5s %5s%n",
+                "length", "words", "guesses", "win%", "p50", "p90", "50%", "90%", "99%");
+        for (int length : lengths) {
+            long[] outcomes = wrong[length];
+            int guesses = GameEngine.getStartingGuesses(length);
+            out.printf("%6d %6d %7d %6.2f %5d %5d %5d %5d %5d%n", length, words.size(length), guesses,
+                    winRate(outcomes, guesses) * 100, percentile(outcomes, 0.5), percentile(outcomes, 0.9),
+                    needed(outcomes, 0.5), needed(outcomes, 0.9), needed(outcomes, 0.99));
+        }
+        double story = 1;
+        for (Phase phase : Phase.values()) {
+            int length = phase.getWordLength();
+            int guesses = GameEngine.getStartingGuesses(length);
+            double rate = winRate(wrong[length], guesses);
+            story *= rate;
+            out.printf("%s (length %d, %d guesses): %.2f%% won%n", phase, length, guesses, rate * 100);
+        }
+        out.printf("Story mode, every phase in a row: %.2f%% won%n", story * 100);
+        if (kind != Kind.ENTROPY)
+            return;
+        out.printf("%6s %9s %9s %13s%n", "length", "first ms", "ms", "decisions");
+        long decisions = 0;
+        long nanos = 0;
+        for (int length : lengths) {
+            decisions += wrong[length][DECISIONS];
+            nanos += wrong[length][NANOS];
+            out.printf("%6d %9.3f %9.5f %,13d%n", length, first[length] / 1e6,
+                    millisPerDecision(wrong[length][NANOS], wrong[length][DECISIONS]), wrong[length][DECISIONS]);
+        }
+        out.printf("Solver: %.5f ms per decision over %,d decisions, %,d remembered%n",
+                millisPerDecision(nanos, decisions), decisions, getSolver().getDecisions());
+    }
+
+    private static double millisPerDecision(long nanos, long decisions) {
+        return decisions == 0 ? 0 : nanos / 1e6 / decisions;
+    }
+
+    /**
+     * Plays the given amount of games with words of the given length.
+     *
+     * @return How many games took each amount of wrong guesses, followed by
+     *         the decisions made and how long they took if the {@link Solver} made them.
+     */
+    private long[] play(Kind kind, int length, int amount, SplittableRandom random) {
+        long[] outcomes = new long[NANOS + 1];
+        Strategy strategy = kind.create(this, random);
+        // only the solver is slow enough for timing each decision not to skew it
+        boolean timed = kind == Kind.ENTROPY;
+        int size = words.size(length);
+        for (int i = 0; i < amount; i++) {
+            // as many guesses as there are letters, so the game can only be won
+            GameEngine game = new GameEngine(words.get(length, random.nextInt(size)), GameEngine.ALPHABET);
+            strategy.start(game);
+            while (!game.isWon()) {
+                if (!timed) {
+                    game.guessLetter(strategy.guess(game));
+                    continue;
+                }
+                long before = System.nanoTime();
+                char guess = strategy.guess(game);
+                outcomes[NANOS] += System.nanoTime() - before;
+                outcomes[DECISIONS]++;
+                game.guessLetter(guess);
+            }
+            outcomes[Integer.bitCount(game.getWrong())]++;
+        }
+        return outcomes;
+    }
+
+    /**
+     * Gets the share of games that took fewer wrong guesses than the given amount of guesses.
+     */
+    private static double winRate(long[] outcomes, int guesses) {
+        long total = 0;
+        long won = 0;
+        for (int i = 0; i < OUTCOMES; i++) {
+            total += outcomes[i];
+            if (i < guesses)
+                won += outcomes[i];
+        }
+        return total == 0 ? 0 : (double) won / total;
+    }
+
+    /**
+     * Gets the amount of wrong guesses at most the given share of games took.
+     */
+    private static int percentile(long[] outcomes, double share) {
+        // a game lost with 1 guess took 0 wrong guesses, so the guesses needed are one more
+        return needed(outcomes, share) - 1;
+    }
+
+    /**
+     * Gets the fewest starting guesses that win at least the given share of games.
+     */
+    private static int needed(long[] outcomes, double share) {
+        for (int guesses = 1; guesses <= OUTCOMES; guesses++) {
+            if (winRate(outcomes, guesses) >= share)
+                return guesses;
+        }
+        return OUTCOMES;
+    }
+
+    /**
+     * Gets the {@link Solver} of the words, shared by every thread.
+     */
+    private synchronized Solver getSolver() {
+        if (solver == null)
+            this.solver = new Solver(new PatternIndex(words));
+        return solver;
+    }
+
+    private enum Kind {
+
+        FREQUENCY("frequency"),
+        RANDOM("random"),
+        OPTIMAL("optimal"),
+        ENTROPY("entropy");
+
+        private final String name;
+
+        public static final Kind[] values = values();
+
+        Kind(String name) {
+            this.name = name;
+        }
+
+        @Nonnull
+        private Strategy create(Simulator simulator, SplittableRandom random) {
+            switch (this) {
+                case RANDOM:
+                    return new RandomStrategy(random);
+                case OPTIMAL:
+                    return new OptimalStrategy(simulator.words);
+                case ENTROPY:
+                    return simulator.getSolver();
+                default:
+                    return new FrequencyStrategy();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Guesses the letter that tells the most about the word.
+ * <br />
+ * Guessing a letter splits the words that still fit into groups, one for each
+ * way the letter could be revealed, including not at all. The {@link Solver}
+ * picks the letter that splits them most evenly, which is the letter with the
+ * most expected information, or entropy, so the fewest guesses are needed to
+ * narrow it down to one word.
+ * <br />
+ * The groups are counted in primitive arrays, one letter per task of a
+ * {@link ForkJoinPool} once there are enough words for it to be worth it.
+ * Games of the same length start out the same way, so every decision is
+ * remembered by what was revealed and guessed, and reused for any game
+ * that gets to the same point.
+ * <br />
+ * A {@link Solver} can be used by any amount of threads at once.
+ */
+public final class Solver implements Strategy {
+
+    private final PatternIndex index;
+    private final WordList words;
+    private final Map<String, Character> decisions;
+
+    private static Solver solver;
+
+    // below this many words and letters, splitting the work costs more than it saves
+    private static final int PARALLEL_WORK = 1 << 15;
+    // enough for every early decision of every length, which are the slow ones
+    private static final int MAX_DECISIONS = 1 << 16;
+
+    /**
+     * Creates a {@link Solver} that knows the words of the given index.
+     *
+     * @param index The index of the words the game picks from.
+     */
+    public Solver(@Nonnull PatternIndex index) {
+        this.index = Validator.requireNotNull(index);
+        this.words = index.getWords();
+        this.decisions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the {@link Solver} of the {@link PatternIndex#getIndex() dictionary's index},
+     * creating it if needed.
+     *
+     * @return The {@link Solver}, or {@code null} if the dictionary could not be loaded.
+     */
+    @Nullable
+    public static synchronized Solver getSolver() {
+        if (solver != null)
+            return solver;
+        PatternIndex index = PatternIndex.getIndex();
+        if (index != null)
+            solver = new Solver(index);
+        return solver;
+    }
+
+    @Override
+    public char guess(@Nonnull GameEngine game) {
+        return solve(game.getWord(), game.getRevealed(), game.getGuessed());
+    }
+
+    /**
+     * Picks the letter that tells the most about the word.
+     * <br />
+     * If no known word fits, the most common letter
+     * in English that wasn't guessed is picked instead.
+     *
+     * @param known    The word, of which only the revealed positions are read.
+     * @param revealed The revealed positions, as bits.
+     * @param guessed  The guessed letters, as bits.
+     * @return The letter to guess, or {@code 0} if every letter was guessed.
+     */
+    public char solve(@Nonnull CharSequence known, int revealed, int guessed) {
+        Validator.requireNotNull(known, "Given word is null!");
+        String state = state(known, revealed, guessed);
+        Character decision = decisions.get(state);
+        if (decision != null)
+            return decision;
+        int length = known.length();
+        long[] matches = index.match(known, revealed, guessed);
+        int count = PatternIndex.count(matches);
+        char best;
+        if (count <= 1 || length > Constants.MAX_WORD_LENGTH) {
+            // nothing to split, any letter of the word will do
+            best = index.bestLetter(length, matches, guessed);
+        } else {
+            int[] candidates = new int[count];
+            int c = 0;
+            for (int i = 0; i < matches.length; i++) {
+                for (long block = matches[i]; block != 0; block &= block - 1)
+                    candidates[c++] = (i << 6) | Long.numberOfTrailingZeros(block);
+            }
+            best = pick(length, candidates, guessed);
+        }
+        if (decisions.size() >= MAX_DECISIONS)
+            decisions.clear();
+        decisions.put(state, best);
+        return best;
+    }
+
+    /**
+     * Gets the amount of decisions remembered.
+     *
+     * @return The amount of decisions.
+     */
+    public int getDecisions() {
+        return decisions.size();
+    }
+
+    private char pick(int length, int[] candidates, int guessed) {
+        double[] entropy = new double[GameEngine.ALPHABET];
+        int[] letters = new int[GameEngine.ALPHABET];
+        int size = 0;
+        for (int letter = 0; letter < GameEngine.ALPHABET; letter++) {
+            if ((guessed >>> letter & 1) == 0)
+                letters[size++] = letter;
+        }
+        boolean parallel = (long) candidates.length * size >= PARALLEL_WORK;
+        Split split = new Split(words, length, candidates, letters, 0, size, entropy, parallel);
+        if (parallel)
+            ForkJoinPool.commonPool().invoke(split);
+        else
+            split.compute();
+        // letters that split as well are picked by how common they are in English
+        char best = 0;
+        double most = -1;
+        for (int i = 0; i < FrequencyStrategy.ORDER.length(); i++) {
+            char c = FrequencyStrategy.ORDER.charAt(i);
+            if ((guessed & GameEngine.bit(c)) == 0 && entropy[c - 'a'] > most + 1e-9) {
+                best = c;
+                most = entropy[c - 'a'];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the key of a decision, the revealed letters
+     * with {@code _} for hidden ones, then the guessed letters.
+     */
+    private static String state(CharSequence known, int revealed, int guessed) {
+        char[] state = new char[known.length() + 2];
+        for (int i = 0; i < known.length(); i++)
+            state[i] = (revealed >>> i & 1) == 0 ? '_' : Character.toLowerCase(known.charAt(i));
+        state[known.length()] = (char) (guessed >>> 16);
+        state[known.length() + 1] = (char) guessed;
+        return new String(state);
+    }
+
+    /**
+     * Works out the entropy of a range of letters,
+     * splitting the range in half until it is a single letter.
+     */
+    private static final class Split extends RecursiveAction {
+
+        private final WordList words;
+        private final int length;
+        private final int[] candidates;
+        private final int[] letters;
+        private final int from;
+        private final int to;
+        private final double[] entropy;
+        private final boolean parallel;
+
+        private static final long serialVersionUID = 1L;
+
+        private Split(WordList words, int length, int[] candidates, int[] letters, int from, int to, double[] entropy, boolean parallel) {
+            this.words = words;
+            this.length = length;
+            this.candidates = candidates;
+            this.letters = letters;
+            this.from = from;
+            this.to = to;
+            this.entropy = entropy;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (parallel && to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Split(words, length, candidates, letters, from, middle, entropy, true),
+                        new Split(words, length, candidates, letters, middle, to, entropy, true));
+                return;
+            }
+            // how many words reveal the letter at each set of positions
+            int[] groups = new int[1 << length];
+            int[] used = new int[Math.min(groups.length, candidates.length)];
+            double total = candidates.length;
+            for (int i = from; i < to; i++) {
+                int letter = letters[i];
+                int size = 0;
+                for (int candidate : candidates) {
+                    int positions = words.getPositions(length, candidate, letter);
+                    if (groups[positions]++ == 0)
+                        used[size++] = positions;
+                }
+                double sum = 0;
+                for (int j = 0; j < size; j++) {
+                    int amount = groups[used[j]];
+                    sum += amount * Math.log(amount);
+                    groups[used[j]] = 0;
+                }
+                // log(n) - sum(k log k) / n, over the natural log, is the entropy in nats
+                entropy[letter] = Math.log(total) - sum / total;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package dev.glitchedcoder.hangman.game;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A way of playing hangman, picking which letter to guess next.
+ * <br />
+ * A {@link Strategy} only ever guesses letters, and may only use what a
+ * player could see: which letters were guessed and where the guessed
+ * letters are in the word. A {@link Strategy} may keep state between
+ * guesses, so each one should only be used by one thread.
+ */
+public interface Strategy {
+
+    /**
+     * Called before the first guess of a new game.
+     *
+     * @param game The game.
+     */
+    default void start(@Nonnull GameEngine game) {
+        // most strategies need nothing set up
+    }
+
+    /**
+     * Picks the next letter to guess.
+     *
+     * @param game The game, which is not over.
+     * @return A letter from {@code a} to {@code z} that wasn't guessed yet.
+     */
+    char guess(@Nonnull GameEngine game);
+}
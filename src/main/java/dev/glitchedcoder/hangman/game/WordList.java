@@ -0,0 +1,148 @@
+package dev.glitchedcoder.hangman.game;
+
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.word.Dictionary;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Words grouped by length, along with the letters of each word as bits.
+ * <br />
+ * Each word is kept with the same masks a {@link GameEngine} works out,
+ * the letters it contains and where each of them is, so what is known
+ * about a game can be compared against every word without looking at
+ * the words themselves.
+ */
+public final class WordList {
+
+    private final String[][] words;
+    private final int[][] letters;
+    private final int[][] positions;
+
+    private WordList(List<? extends Iterable<String>> groups) {
+        int lengths = Constants.MAX_WORD_LENGTH + 1;
+        this.words = new String[lengths][];
+        this.letters = new int[lengths][];
+        this.positions = new int[lengths][];
+        for (int length = 0; length < lengths; length++) {
+            List<String> group = new ArrayList<>();
+            if (length >= Constants.MIN_WORD_LENGTH)
+                groups.get(length - Constants.MIN_WORD_LENGTH).forEach(group::add);
+            this.words[length] = group.toArray(new String[0]);
+            this.letters[length] = new int[group.size()];
+            this.positions[length] = new int[group.size() * GameEngine.ALPHABET];
+            for (int i = 0; i < group.size(); i++) {
+                String word = group.get(i);
+                for (int j = 0; j < word.length(); j++) {
+                    int letter = word.charAt(j) - 'a';
+                    this.letters[length][i] |= 1 << letter;
+                    this.positions[length][i * GameEngine.ALPHABET + letter] |= 1 << j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a {@link WordList} of every word in the {@link Dictionary}.
+     *
+     * @param dictionary The dictionary.
+     * @return The {@link WordList}.
+     */
+    @Nonnull
+    public static WordList of(@Nonnull Dictionary dictionary) {
+        Validator.requireNotNull(dictionary, "Given dictionary is null!");
+        List<List<String>> groups = new ArrayList<>();
+        for (int length = Constants.MIN_WORD_LENGTH; length <= Constants.MAX_WORD_LENGTH; length++) {
+            List<String> group = new ArrayList<>(dictionary.size(length));
+            for (int i = 0; i < dictionary.size(length); i++)
+                group.add(dictionary.get(length, i));
+            groups.add(group);
+        }
+        return new WordList(groups);
+    }
+
+    /**
+     * Reads a {@link WordList} from a file with one word per line.
+     * <br />
+     * Like the {@link Dictionary}, only words of {@link Constants#MIN_WORD_LENGTH}
+     * to {@link Constants#MAX_WORD_LENGTH} letters are kept.
+     *
+     * @param file The file.
+     * @return The {@link WordList}.
+     * @throws IOException Thrown if the file could not be read.
+     */
+    @Nonnull
+    public static WordList read(@Nonnull File file) throws IOException {
+        Validator.requireNotNull(file, "Given file is null!");
+        List<TreeSet<String>> groups = new ArrayList<>();
+        for (int length = Constants.MIN_WORD_LENGTH; length <= Constants.MAX_WORD_LENGTH; length++)
+            groups.add(new TreeSet<>());
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase(Locale.ROOT);
+                if (word.length() >= Constants.MIN_WORD_LENGTH && word.length() <= Constants.MAX_WORD_LENGTH
+                        && word.chars().allMatch(c -> c >= 'a' && c <= 'z'))
+                    groups.get(word.length() - Constants.MIN_WORD_LENGTH).add(word);
+            }
+        }
+        return new WordList(groups);
+    }
+
+    /**
+     * Gets the amount of words of the given length.
+     *
+     * @param length The length of the words.
+     * @return The amount of words, or {@code 0} if the length is out of range.
+     */
+    public int size(int length) {
+        if (length < 0 || length >= words.length)
+            return 0;
+        return words[length].length;
+    }
+
+    /**
+     * Gets the word of the given length at the given index.
+     *
+     * @param length The length of the word.
+     * @param index  The index of the word among words of the same length.
+     * @return The word.
+     */
+    @Nonnull
+    public String get(int length, int index) {
+        return words[length][index];
+    }
+
+    /**
+     * Gets the letters of the word of the given length at the given index, as bits.
+     *
+     * @param length The length of the word.
+     * @param index  The index of the word among words of the same length.
+     * @return The letters in the word.
+     */
+    public int getLetters(int length, int index) {
+        return letters[length][index];
+    }
+
+    /**
+     * Gets the positions of a letter in the word of the given length at the given index, as bits.
+     *
+     * @param length The length of the word.
+     * @param index  The index of the word among words of the same length.
+     * @param letter The letter, from {@code 0} for {@code a} to {@code 25} for {@code z}.
+     * @return The positions of the letter, or {@code 0} if it isn't in the word.
+     */
+    public int getPositions(int length, int index, int letter) {
+        return positions[length][index * GameEngine.ALPHABET + letter];
+    }
+}
@@ -5,7 +5,9 @@ import com.google.gson.stream.JsonWriter;
 import dev.glitchedcoder.hangman.ui.NSFL;
 import dev.glitchedcoder.hangman.util.Constants;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.RenderMode;
 import dev.glitchedcoder.hangman.window.Resolution;
+import dev.glitchedcoder.hangman.word.WordSource;
 
 import javax.annotation.Nonnull;
 import java.io.BufferedReader;
@@ -25,7 +27,10 @@ public final class Config {
     private NSFL nsfl;
     private String apiKey;
     private boolean playedBefore;
+    private long apiKeyValidated;
     private Resolution resolution;
+    private RenderMode renderMode;
+    private WordSource wordSource;
 
     private static Config instance;
 
@@ -40,6 +45,8 @@ public final class Config {
         this.nsfl = NSFL.OFF;
         this.playedBefore = false;
         this.resolution = Resolution.P576;
+        this.renderMode = RenderMode.FRAMEBUFFER;
+        this.wordSource = WordSource.ONLINE;
     }
 
     /**
@@ -65,7 +72,7 @@ public final class Config {
      * new instance of Config with the default values:
      * <br />
      * {@code
-     *      { "nsfl": "OFF", "apiKey": "", "resolution": "P576" }
+     *      { "nsfl": "OFF", "apiKey": "", "resolution": "P576", "renderMode": "FRAMEBUFFER", "wordSource": "ONLINE" }
      * }
      * <br />
      * If the config file exists, it will be loaded as the class instance.
@@ -150,6 +157,17 @@ public final class Config {
         return apiKey;
     }
 
+    /**
+     * Gets when the stored API key was last found to be valid.
+     * <br />
+     * This is reset whenever a different API key is stored.
+     *
+     * @return The time in milliseconds since the epoch, or {@code 0} if never.
+     */
+    public long getApiKeyValidated() {
+        return apiKeyValidated;
+    }
+
     /**
      * Gets whether the user has played before.
      * <br />
@@ -181,6 +199,56 @@ public final class Config {
         return resolution;
     }
 
+    /**
+     * Gets the stored {@link RenderMode}.
+     * <br />
+     * Config files written before the {@link RenderMode}
+     * existed default to {@link RenderMode#FRAMEBUFFER}.
+     *
+     * @return The stored {@link RenderMode}.
+     */
+    @Nonnull
+    public RenderMode getRenderMode() {
+        return renderMode == null ? RenderMode.FRAMEBUFFER : renderMode;
+    }
+
+    /**
+     * Gets the stored {@link WordSource}.
+     * <br />
+     * Config files written before the {@link WordSource}
+     * existed default to {@link WordSource#ONLINE}.
+     *
+     * @return The stored {@link WordSource}.
+     */
+    @Nonnull
+    public WordSource getWordSource() {
+        return wordSource == null ? WordSource.ONLINE : wordSource;
+    }
+
+    /**
+     * Gets the {@link Resolution} that {@link dev.glitchedcoder.hangman.window.Scene}s are drawn at.
+     * <br />
+     * If the {@link #getRenderMode() render mode} is {@link RenderMode#FRAMEBUFFER},
+     * this is always {@link Resolution#P576}, otherwise it is the {@link #getResolution() resolution}.
+     *
+     * @return The {@link Resolution} that scenes are drawn at.
+     */
+    @Nonnull
+    public Resolution getRenderResolution() {
+        return getRenderMode().isFramebuffer() ? Resolution.P576 : resolution;
+    }
+
+    /**
+     * Gets the scalar that textures and size-dependent constants are scaled by.
+     * <br />
+     * Shortcut for {@code getRenderResolution().getScalar()}.
+     *
+     * @return The scalar of the {@link #getRenderResolution() render resolution}.
+     */
+    public double getRenderScalar() {
+        return getRenderResolution().getScalar();
+    }
+
     /**
      * Sets whether more graphic scenes should be enabled.
      * <br />
@@ -208,7 +276,19 @@ public final class Config {
     public void setApiKey(@Nonnull String apiKey) {
         Validator.requireNotNull(apiKey, "Given API key is null!");
         Validator.checkArgument(apiKey.length() == 5, "Given API key '{}' has invalid length.", apiKey);
-        this.apiKey = apiKey.toUpperCase(Locale.ROOT);
+        apiKey = apiKey.toUpperCase(Locale.ROOT);
+        if (!apiKey.equals(this.apiKey))
+            this.apiKeyValidated = 0;
+        this.apiKey = apiKey;
+    }
+
+    /**
+     * Sets when the stored API key was last found to be valid.
+     *
+     * @param apiKeyValidated The time in milliseconds since the epoch.
+     */
+    public void setApiKeyValidated(long apiKeyValidated) {
+        this.apiKeyValidated = apiKeyValidated;
     }
 
     /**
@@ -240,4 +320,30 @@ public final class Config {
         Validator.requireNotNull(resolution, "Given resolution is null!");
         this.resolution = resolution;
     }
+
+    /**
+     * Sets the {@link RenderMode}.
+     * <br />
+     * Like {@link #setResolution(Resolution)}, this
+     * method only updates the config file. A restart
+     * is needed for the new {@link RenderMode} to apply.
+     *
+     * @param renderMode The render mode to set.
+     * @throws IllegalArgumentException Thrown if the given render mode is null.
+     */
+    public void setRenderMode(@Nonnull RenderMode renderMode) {
+        Validator.requireNotNull(renderMode, "Given render mode is null!");
+        this.renderMode = renderMode;
+    }
+
+    /**
+     * Sets the {@link WordSource}.
+     *
+     * @param wordSource The word source to set.
+     * @throws IllegalArgumentException Thrown if the given word source is null.
+     */
+    public void setWordSource(@Nonnull WordSource wordSource) {
+        Validator.requireNotNull(wordSource, "Given word source is null!");
+        this.wordSource = wordSource;
+    }
 }
\ No newline at end of file
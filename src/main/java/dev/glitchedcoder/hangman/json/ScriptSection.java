@@ -12,7 +12,9 @@ public enum ScriptSection {
     PHASE_TWO("phase_two"),
     PHASE_THREE("phase_three"),
     GAME_LOST("game_lost_sfl", "game_lost_nsfl"),
-    GAME_WON("game_won_sfl", "game_won_nsfl");
+    GAME_WON("game_won_sfl", "game_won_nsfl"),
+    HINT("hint"),
+    HINT_NO_WORDS("hint_no_words");
 
     private final String sflId;
     private final String nsflId;
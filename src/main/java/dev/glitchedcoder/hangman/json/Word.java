@@ -1,5 +1,9 @@
 package dev.glitchedcoder.hangman.json;
 
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+
 /**
  * Represents a class instance of the
  * JSON object returned from the API.
@@ -10,6 +14,22 @@ public final class Word {
 
     private String word;
 
+    private Word() {
+        // used by GSON
+    }
+
+    /**
+     * Creates a {@link Word} that did not come from the API,
+     * such as one from the {@link dev.glitchedcoder.hangman.word.Dictionary}.
+     *
+     * @param word The word.
+     * @throws IllegalArgumentException Thrown if the given word is null.
+     */
+    public Word(@Nonnull String word) {
+        Validator.requireNotNull(word, "Given word is null!");
+        this.word = word;
+    }
+
     /**
      * Gets the word given by the API.
      *
@@ -16,6 +16,7 @@ import lombok.EqualsAndHashCode;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @EqualsAndHashCode(callSuper = true)
 public class ApiKeyEntry extends Scene {
@@ -24,8 +25,11 @@ public class ApiKeyEntry extends Scene {
     private final TextInput textInput;
     private final FixedTexture header;
     private final FixedTexture footer;
+    private final FixedTexture checking;
     private final IconOverlay iconOverlay;
 
+    private CompletableFuture<Boolean> pending;
+
     public ApiKeyEntry() {
         this.keys = KeySelector.create()
                 .group(Key.WRITABLE_KEYS)
@@ -42,8 +46,14 @@ public class ApiKeyEntry extends Scene {
                 .removeBackground()
                 .scale(2D)
                 .build();
+        BufferedImage checkingText = new TexturePreprocessor("Checking your API key")
+                .color(Color.LIGHT_GRAY)
+                .removeBackground()
+                .scale(2D)
+                .build();
         this.header = new FixedTexture(this, headerText);
         this.footer = new FixedTexture(this, footerText);
+        this.checking = new FixedTexture(this, checkingText);
         this.textInput = new TextInput(this, 5, 5, true);
         this.iconOverlay = new IconOverlay(this, Color.WHITE, 2.5);
     }
@@ -57,34 +67,56 @@ public class ApiKeyEntry extends Scene {
         this.header.setLocation(Location.topCenter(header.getBounds()));
         this.textInput.setLocation(Location.center(textInput.getBounds()));
         this.footer.setLocation(Location.bottomCenter(footer.getBounds()));
+        this.checking.setLocation(Location.bottomCenter(checking.getBounds()));
         this.iconOverlay.setLocation(Location.bottomLeft(iconOverlay.getBounds()));
-        addRenderables(header, footer, textInput, iconOverlay);
-        spawnAll(header, footer, textInput, iconOverlay);
+        addRenderables(header, footer, checking, textInput, iconOverlay);
+        spawnAll(header, footer, checking, textInput, iconOverlay);
         footer.setVisible(false);
+        checking.setVisible(false);
     }
 
     @Override
     protected void onUnload() {
-        disposeAll(header, footer, textInput);
+        cancel();
+        disposeAll(header, footer, checking, textInput);
     }
 
     @Override
     protected void onKeyPress(Key key) {
         if (key == Key.ENTER) {
+            if (pending != null)
+                return;
             footer.setVisible(false);
             if (textInput.isInvalid()) {
                 return;
             }
-            textInput.lockAll(true);
             config.setApiKey(textInput.getInput());
-            if (ApiRequest.checkApiKey())
-                setScene(new MainMenu());
-            else {
-                footer.setVisible(true);
-                textInput.lockAll(false);
-            }
-        } else
+            CompletableFuture<Boolean> check = ApiRequest.checkApiKeyAsync();
+            this.pending = check;
+            checking.setVisible(true);
+            onComplete(check, (valid, e) -> {
+                // the key was edited while it was being checked
+                if (check != pending)
+                    return;
+                this.pending = null;
+                checking.setVisible(false);
+                if (Boolean.TRUE.equals(valid))
+                    setScene(new MainMenu());
+                else
+                    footer.setVisible(true);
+            });
+        } else {
+            cancel();
             textInput.handleKeyInput(key);
+        }
+    }
+
+    private void cancel() {
+        if (pending == null)
+            return;
+        pending.cancel(false);
+        this.pending = null;
+        checking.setVisible(false);
     }
 
     @Override
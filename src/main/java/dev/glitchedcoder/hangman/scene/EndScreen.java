@@ -38,6 +38,7 @@ public class EndScreen extends Scene {
                 .color(won ? Color.GREEN : Color.RED)
                 .scale(5)
                 .removeBackground()
+                .cached()
                 .build();
         this.gameText = new FixedTexture(this, text);
         this.overlay = new IconOverlay(this, Color.WHITE, 2.5);
@@ -4,6 +4,7 @@ import dev.glitchedcoder.hangman.entity.FadeIn;
 import dev.glitchedcoder.hangman.entity.FadeOut;
 import dev.glitchedcoder.hangman.entity.FixedTexture;
 import dev.glitchedcoder.hangman.entity.Location;
+import dev.glitchedcoder.hangman.entity.RenderPriority;
 import dev.glitchedcoder.hangman.scene.menu.MainMenu;
 import dev.glitchedcoder.hangman.ui.Texture;
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
@@ -16,6 +17,7 @@ import lombok.EqualsAndHashCode;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 @EqualsAndHashCode(callSuper = true)
@@ -24,6 +26,7 @@ public class Splash extends Scene {
     private final FadeIn fadeIn;
     private final FadeOut fadeOut;
     private final FixedTexture text;
+    private final FixedTexture checking;
     private final FixedTexture portrait;
 
     private static final byte SKIP = 11;
@@ -36,32 +39,46 @@ public class Splash extends Scene {
                 .removeBackground()
                 .scale(4)
                 .build();
+        BufferedImage checkingText = new TexturePreprocessor("Checking your API key")
+                .color(Color.LIGHT_GRAY)
+                .removeBackground()
+                .scale(2D)
+                .build();
         this.text = new FixedTexture(this, text);
+        this.checking = new FixedTexture(this, checkingText);
+        // drawn over the fade out
+        this.checking.setRenderPriority(RenderPriority.MAX);
         this.portrait = new FixedTexture(this, Texture.SELF_PORTRAIT);
         this.text.setLocation(Location.bottomCenter(this.text.getBounds()));
         this.portrait.setLocation(Location.center(this.portrait.getBounds()));
+        this.checking.setLocation(Location.bottomCenter(this.checking.getBounds()));
     }
 
     @Override
     protected void onLoad() {
         setBackground(Color.WHITE);
-        addRenderables(fadeIn, fadeOut, text, portrait);
-        spawnAll(fadeIn, text, portrait);
+        addRenderables(fadeIn, fadeOut, checking, text, portrait);
+        spawnAll(fadeIn, checking, text, portrait);
+        checking.setVisible(false);
         fadeIn.onFinish(() -> {
             fadeIn.dispose();
             executor.schedule(fadeOut::spawn, 1, TimeUnit.SECONDS);
         });
+        // no API key is needed when playing offline
+        boolean online = config.getWordSource().usesApi();
+        // checked while the splash plays, so setting up the client doesn't hold up the game thread either
+        CompletableFuture<Boolean> check = online
+                ? CompletableFuture.supplyAsync(ApiRequest::checkApiKeyAsync, executor).thenCompose(future -> future)
+                : CompletableFuture.completedFuture(true);
         fadeOut.onFinish(() -> {
-            if (ApiRequest.checkApiKey())
-                setScene(new MainMenu());
-            else
-                setScene(new ApiKeyEntry());
+            checking.setVisible(!check.isDone());
+            onComplete(check, (valid, e) -> setScene(Boolean.TRUE.equals(valid) ? new MainMenu() : new ApiKeyEntry()));
         });
     }
 
     @Override
     protected void onUnload() {
-        disposeAll(fadeOut, fadeIn, text, portrait);
+        disposeAll(fadeOut, fadeIn, checking, text, portrait);
     }
 
     @Override
@@ -5,18 +5,33 @@ import dev.glitchedcoder.hangman.entity.FixedTexture;
 import dev.glitchedcoder.hangman.entity.LightFixture;
 import dev.glitchedcoder.hangman.entity.Location;
 import dev.glitchedcoder.hangman.entity.RenderPriority;
+import dev.glitchedcoder.hangman.game.GameEngine;
+import dev.glitchedcoder.hangman.game.Solver;
+import dev.glitchedcoder.hangman.json.Word;
+import dev.glitchedcoder.hangman.scene.mode.Phase;
 import dev.glitchedcoder.hangman.ui.NSFL;
 import dev.glitchedcoder.hangman.ui.Texture;
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
 import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.word.Dictionary;
+import dev.glitchedcoder.hangman.word.WordSupplier;
 import lombok.EqualsAndHashCode;
 
 import javax.annotation.Nullable;
+import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 @EqualsAndHashCode(callSuper = true)
 public class MainMenu extends Menu {
 
+    private GameEngine demo;
+    private boolean thinking;
+    private byte rest;
+    private FixedTexture demoText;
+
     private final LightFixture light;
     private final FixedTexture hands;
     private final FixedTexture table;
@@ -25,6 +40,8 @@ public class MainMenu extends Menu {
 
     private static final byte SCALAR = 3;
     private static final byte COMPONENT_SIZE = 4;
+    // seconds a finished demo word stays up before the next one
+    private static final byte DEMO_REST = 3;
 
     public MainMenu() {
         this.components = new MenuComponent[COMPONENT_SIZE];
@@ -85,5 +102,78 @@ public class MainMenu extends Menu {
         table.setLocation(Location.bottomCenter(table.getBounds()));
         version.setLocation(Location.bottomRight(version.getBounds()));
         spawnAll(light, hands, table, version);
+        if (demoText != null) {
+            addRenderable(demoText);
+            demoText.spawn();
+        }
+        // fetch words ahead of time, so starting a game never waits on the API
+        WordSupplier supplier = WordSupplier.getSupplier();
+        supplier.prefetch(Phase.PHASE_ONE.getWordLength());
+        supplier.prefetchRandom();
+    }
+
+    @Override
+    protected void tick(byte count) {
+        super.tick(count);
+        // a letter a second, as long as the last one is done
+        if (count == 0 && !thinking)
+            playDemo();
+    }
+
+    /**
+     * Plays the next letter of the demo, or starts a new word once the last one has been up for a while.
+     * <br />
+     * The {@link Solver} and {@link Dictionary} are only ever used off the game thread.
+     */
+    private void playDemo() {
+        GameEngine game = this.demo;
+        if (game != null && game.isOver() && rest++ < DEMO_REST)
+            return;
+        this.thinking = true;
+        CompletableFuture<GameEngine> next = CompletableFuture.supplyAsync(() -> {
+            Solver solver = Solver.getSolver();
+            if (solver == null)
+                return null;
+            if (game == null || game.isOver()) {
+                int length = ThreadLocalRandom.current().nextInt(Constants.MIN_WORD_LENGTH, Constants.MAX_WORD_LENGTH + 1);
+                Word word = Validator.requireNotNull(Dictionary.getDictionary()).randomWord(length);
+                return word == null ? null : new GameEngine(word.getWord());
+            }
+            game.guessLetter(solver.guess(game));
+            return game;
+        }, executor);
+        onComplete(next, (result, e) -> {
+            // without a dictionary there is no demo, so it stays thinking
+            if (e != null)
+                e.printStackTrace();
+            if (result == null)
+                return;
+            this.demo = result;
+            this.rest = 0;
+            this.thinking = false;
+            updateDemo();
+        });
+    }
+
+    private void updateDemo() {
+        StringBuilder builder = new StringBuilder(demo.getWord().length() * 2);
+        for (int i = 0; i < demo.getWord().length(); i++) {
+            if (i > 0)
+                builder.append(' ');
+            builder.append(demo.isRevealed(i) ? Character.toUpperCase(demo.getWord().charAt(i)) : '_');
+        }
+        Color color = demo.isWon() ? Color.GREEN : demo.isLost() ? Color.RED : Color.GRAY;
+        BufferedImage image = new TexturePreprocessor(builder.toString())
+                .color(color)
+                .removeBackground()
+                .scale(1.5)
+                .build();
+        if (demoText == null) {
+            this.demoText = new FixedTexture(this, image);
+            this.demoText.setLocation(Location.topLeft());
+            addRenderable(demoText);
+            demoText.spawn();
+        } else
+            this.demoText.setImage(image);
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,7 @@ import dev.glitchedcoder.hangman.entity.Location;
 import dev.glitchedcoder.hangman.entity.RenderPriority;
 import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
 import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.DrawList;
 import dev.glitchedcoder.hangman.window.Scene;
 
 import javax.annotation.Nonnull;
@@ -44,6 +45,7 @@ public class MenuComponent extends Entity {
                 .color(focusable ? (focused ? FOCUSED : UNFOCUSED) : UNFOCUSABLE)
                 .scale(scalar)
                 .removeBackground()
+                .cached()
                 .build();
         this.bounds = new Rectangle(image.getWidth(), image.getHeight());
         // account for any changes in text
@@ -78,6 +80,12 @@ public class MenuComponent extends Entity {
         graphics.drawImage(this.image, getLocation().getX(), getLocation().getY(), null);
     }
 
+    @Override
+    public boolean record(@Nonnull DrawList list) {
+        list.image(this.image, getLocation().getX(), getLocation().getY());
+        return true;
+    }
+
     @Nonnull
     @Override
     public RenderPriority getRenderPriority() {
@@ -122,10 +130,12 @@ public class MenuComponent extends Entity {
                 .color(focusable ? (focused ? FOCUSED : UNFOCUSED) : UNFOCUSABLE)
                 .scale(scalar)
                 .removeBackground()
+                .cached()
                 .build();
         this.bounds = new Rectangle(image.getWidth(), image.getHeight());
         // account for any changes in text
         int newX = Location.center(this.bounds).getX();
         getLocation().setX(newX);
+        invalidate();
     }
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package dev.glitchedcoder.hangman.scene.menu;
 import dev.glitchedcoder.hangman.Hangman;
 import dev.glitchedcoder.hangman.scene.ApiKeyEntry;
 import dev.glitchedcoder.hangman.ui.NSFL;
+import dev.glitchedcoder.hangman.window.RenderMode;
 import dev.glitchedcoder.hangman.window.Resolution;
+import dev.glitchedcoder.hangman.word.WordSource;
 import lombok.EqualsAndHashCode;
 
 import javax.annotation.Nonnull;
@@ -16,15 +18,17 @@ public class PreferencesMenu extends Menu {
     private final MenuComponent[] components;
 
     private static final byte SCALAR = 3;
-    private static final byte COMPONENT_SIZE = 5;
+    private static final byte COMPONENT_SIZE = 7;
 
     public PreferencesMenu(@Nonnull MainMenu parent) {
         this.parent = parent;
         this.components = new MenuComponent[COMPONENT_SIZE];
         ScrollableMenuComponent<Resolution> resolutions = new ScrollableMenuComponent<>(this, Resolution.values, SCALAR);
         ScrollableMenuComponent<NSFL> nsfl = new ScrollableMenuComponent<>(this, NSFL.values, SCALAR);
+        ScrollableMenuComponent<RenderMode> renderModes = new ScrollableMenuComponent<>(this, RenderMode.values, SCALAR);
+        ScrollableMenuComponent<WordSource> wordSources = new ScrollableMenuComponent<>(this, WordSource.values, SCALAR);
         MenuComponent changeKey = new MenuComponent(this, "Change API Key", SCALAR);
-        MenuComponent applyComponent = new MenuComponent(this, "APPLY & RESTART", SCALAR);
+        MenuComponent applyComponent = new MenuComponent(this, "APPLY", SCALAR);
         MenuComponent backComponent = new MenuComponent(this, "BACK", SCALAR);
         changeKey.onSelect(() -> setScene(new ApiKeyEntry()));
         applyComponent.onSelect(() -> {
@@ -32,14 +36,26 @@ public class PreferencesMenu extends Menu {
             config.setNsfl(notsafe);
             Resolution resolution = resolutions.getSelected();
             config.setResolution(resolution);
-            Hangman.restart();
+            config.setWordSource(wordSources.getSelected());
+            RenderMode current = Hangman.getWindow().getRenderMode();
+            RenderMode renderMode = renderModes.getSelected();
+            config.setRenderMode(renderMode);
+            // the framebuffer is scaled up as a whole, so only the window needs resizing
+            if (current.isFramebuffer() && renderMode.isFramebuffer()) {
+                Hangman.getWindow().setResolution(resolution);
+                setScene(new MainMenu());
+            } else {
+                Hangman.restart();
+            }
         });
         backComponent.onSelect(() -> setScene(parent));
         components[0] = resolutions;
         components[1] = nsfl;
-        components[2] = changeKey;
-        components[3] = applyComponent;
-        components[4] = backComponent;
+        components[2] = renderModes;
+        components[3] = wordSources;
+        components[4] = changeKey;
+        components[5] = applyComponent;
+        components[6] = backComponent;
     }
 
     @Nullable
@@ -1,5 +1,6 @@
 package dev.glitchedcoder.hangman.scene.menu;
 
+import dev.glitchedcoder.hangman.scene.mode.EvilMode;
 import dev.glitchedcoder.hangman.scene.mode.FreeMode;
 import dev.glitchedcoder.hangman.scene.mode.StoryIntro;
 import lombok.EqualsAndHashCode;
@@ -13,20 +14,23 @@ public class SingleplayerMenu extends Menu {
     private final MenuComponent[] components;
 
     private static final byte SCALAR = 3;
-    private static final byte COMPONENT_SIZE = 3;
+    private static final byte COMPONENT_SIZE = 4;
 
     public SingleplayerMenu(MainMenu parent) {
         this.parent = parent;
         this.components = new MenuComponent[COMPONENT_SIZE];
         MenuComponent storyMode = new MenuComponent(this, "Story Mode", SCALAR);
         MenuComponent freeMode = new MenuComponent(this, "Free Mode", SCALAR);
+        MenuComponent evilMode = new MenuComponent(this, "Evil Mode", SCALAR);
         MenuComponent back = new MenuComponent(this, "Back", SCALAR);
         storyMode.onSelect(() -> setScene(new StoryIntro()));
         freeMode.onSelect(() -> setScene(new FreeMode(null)));
+        evilMode.onSelect(() -> setScene(new EvilMode()));
         back.onSelect(() -> setScene(parent));
         components[0] = storyMode;
         components[1] = freeMode;
-        components[2] = back;
+        components[2] = evilMode;
+        components[3] = back;
     }
 
     @Nullable
@@ -66,7 +66,7 @@ public class WordSelectionMenu extends Menu {
 
     @Override
     protected int getComponentYOffset() {
-        return (int) (205 * config.getResolution().getScalar());
+        return (int) (205 * config.getRenderScalar());
     }
 
     @Override
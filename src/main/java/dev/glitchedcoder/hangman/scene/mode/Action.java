@@ -4,6 +4,7 @@ public enum Action {
 
     GUESS_LETTER("Guess Letter", GameState.GUESSING_LETTER),
     GUESS_WORD("Guess Word", GameState.GUESSING_WORD),
+    HINT("Hint", GameState.READING_TEXT),
     @Deprecated(since = "1.0.1")
     PICK_FROM_INVENTORY("Use Item", GameState.PICKING_FROM_INVENTORY);
 
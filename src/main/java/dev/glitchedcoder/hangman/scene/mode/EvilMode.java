@@ -0,0 +1,90 @@
+package dev.glitchedcoder.hangman.scene.mode;
+
+import dev.glitchedcoder.hangman.Hangman;
+import dev.glitchedcoder.hangman.game.EvilEngine;
+import dev.glitchedcoder.hangman.game.PatternIndex;
+import dev.glitchedcoder.hangman.game.WordList;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.Recorder;
+import lombok.EqualsAndHashCode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+@EqualsAndHashCode(callSuper = true)
+public class EvilMode extends GameMode<EvilEngine> {
+
+    private final long seed;
+
+    // the mode a replay of evil mode is recorded as
+    static final String MODE = "evil";
+
+    /**
+     * Creates a game of evil mode.
+     * <br />
+     * The word is never picked, every word of a random length from the
+     * {@link PatternIndex#getIndex() dictionary} fits until the guesses
+     * leave only one. The words are loaded while the scene fades in.
+     *
+     * @see EvilEngine
+     */
+    public EvilMode() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a game of evil mode with the length picked from the given seed.
+     *
+     * @param seed The seed.
+     */
+    public EvilMode(long seed) {
+        this(seed, CompletableFuture.supplyAsync(() -> create(seed), Hangman.getExecutor()));
+    }
+
+    /**
+     * Creates a game of evil mode that starts once the given game is loaded.
+     *
+     * @param seed    The seed the game was created with.
+     * @param pending The game.
+     */
+    EvilMode(long seed, @Nonnull CompletableFuture<EvilEngine> pending) {
+        super(pending, new Action[] { Action.GUESS_LETTER, Action.GUESS_WORD });
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a game of a length picked from the given seed,
+     * with every word of that length from the {@link PatternIndex#getIndex() dictionary}.
+     *
+     * @param seed The seed.
+     * @return The game.
+     * @throws IllegalArgumentException Thrown if the dictionary could not be loaded,
+     *                                  or has no words of any allowed length.
+     */
+    @Nonnull
+    static EvilEngine create(long seed) {
+        PatternIndex index = PatternIndex.getIndex();
+        Validator.requireNotNull(index, "The dictionary could not be loaded.");
+        WordList words = index.getWords();
+        int[] lengths = new int[Constants.MAX_WORD_LENGTH - Constants.MIN_WORD_LENGTH + 1];
+        int count = 0;
+        for (int length = Constants.MIN_WORD_LENGTH; length <= Constants.MAX_WORD_LENGTH; length++) {
+            if (words.size(length) != 0)
+                lengths[count++] = length;
+        }
+        Validator.checkArgument(count != 0, "The dictionary has no words from {} to {} letters long.",
+                Constants.MIN_WORD_LENGTH, Constants.MAX_WORD_LENGTH);
+        return new EvilEngine(words, lengths[new SplittableRandom(seed).nextInt(count)]);
+    }
+
+    @Nullable
+    @Override
+    protected Recorder startRecording(@Nonnull EvilEngine engine) {
+        // there is no word, the seed picks the length and the guesses do the rest
+        return Recorder.start(MODE, seed, "", getTicks());
+    }
+}
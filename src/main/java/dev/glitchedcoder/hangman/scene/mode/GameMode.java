@@ -0,0 +1,441 @@
+package dev.glitchedcoder.hangman.scene.mode;
+
+import dev.glitchedcoder.hangman.entity.FadeIn;
+import dev.glitchedcoder.hangman.entity.FadeOut;
+import dev.glitchedcoder.hangman.entity.FixedTexture;
+import dev.glitchedcoder.hangman.entity.IconOverlay;
+import dev.glitchedcoder.hangman.entity.LightFixture;
+import dev.glitchedcoder.hangman.entity.Location;
+import dev.glitchedcoder.hangman.entity.RenderPriority;
+import dev.glitchedcoder.hangman.entity.TextBox;
+import dev.glitchedcoder.hangman.entity.TextInput;
+import dev.glitchedcoder.hangman.game.Engine;
+import dev.glitchedcoder.hangman.game.GameEngine;
+import dev.glitchedcoder.hangman.json.Script;
+import dev.glitchedcoder.hangman.json.ScriptSection;
+import dev.glitchedcoder.hangman.scene.EndScreen;
+import dev.glitchedcoder.hangman.scene.menu.MainMenu;
+import dev.glitchedcoder.hangman.scene.menu.PauseMenu;
+import dev.glitchedcoder.hangman.scene.menu.ScrollableMenuComponent;
+import dev.glitchedcoder.hangman.ui.CharMap;
+import dev.glitchedcoder.hangman.ui.Portrait;
+import dev.glitchedcoder.hangman.ui.Texture;
+import dev.glitchedcoder.hangman.ui.TexturePreprocessor;
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.Recorder;
+import dev.glitchedcoder.hangman.window.Scene;
+import dev.glitchedcoder.hangman.window.key.Key;
+import dev.glitchedcoder.hangman.window.key.KeySelector;
+import lombok.EqualsAndHashCode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.Color;
+import java.awt.event.FocusEvent;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A game of hangman at the table, played against an {@link Engine}.
+ * <br />
+ * The scene fades in while the {@link Engine} is loaded, and the game
+ * starts once it arrives. Every mode plays the same from there on,
+ * so a mode only has to say how its {@link Engine} is created
+ * and how a game of it is {@link Recorder recorded}, and hook into
+ * the few places where it differs.
+ *
+ * @param <E> The kind of {@link Engine} the mode plays against.
+ */
+@EqualsAndHashCode(callSuper = true)
+public abstract class GameMode<E extends Engine> extends Scene {
+
+    private E engine;
+    private GameState state;
+    private boolean faded;
+    private boolean waiting;
+    private FixedTexture letters;
+    private TextInput textInput;
+    private Recorder recorder;
+
+    private final Set<Key> keys;
+    private final LightFixture light;
+    private final FixedTexture table;
+    private final FixedTexture hands;
+    private final FixedTexture guessText;
+    private final CompletableFuture<E> pending;
+
+    protected final FadeIn fadeIn;
+    protected final FadeOut fadeOut;
+    protected final TextBox textBox;
+    protected final IconOverlay overlay;
+    protected final ScrollableMenuComponent<Action> action;
+
+    /**
+     * Creates a game that starts once the given {@link Engine} arrives.
+     *
+     * @param pending The game.
+     * @param actions The {@link Action}s that can be picked each turn.
+     */
+    protected GameMode(@Nonnull CompletableFuture<E> pending, @Nonnull Action[] actions) {
+        Validator.requireNotNull(pending, "Given game is null!");
+        Validator.requireNotNull(actions, "Given actions are null!");
+        this.pending = pending;
+        this.keys = KeySelector.create()
+                .group(Key.ALPHABETICAL_KEYS)
+                .group(Key.ARROW_KEYS)
+                .with(Key.ENTER)
+                .with(Key.ESCAPE)
+                .with(Key.BACKSPACE)
+                .build();
+        this.light = new LightFixture(this, (byte) 10, 4.1);
+        BufferedImage table = new TexturePreprocessor(Texture.TABLE_TEXTURE)
+                .scale(4)
+                .build();
+        BufferedImage hands = new TexturePreprocessor(config.getNSFL().isOn() ? Texture.HANDS_BOUND : Texture.HANDS_UNBOUND)
+                .scale(4)
+                .build();
+        BufferedImage guessText = new TexturePreprocessor("0")
+                .color(Color.RED)
+                .scale(3)
+                .removeBackground()
+                .cached()
+                .build();
+        this.table = new FixedTexture(this, table);
+        this.hands = new FixedTexture(this, hands);
+        this.overlay = new IconOverlay(this, Color.WHITE, 2.5);
+        this.guessText = new FixedTexture(this, guessText);
+        this.action = new ScrollableMenuComponent<>(this, actions, 2.5);
+        this.textBox = new TextBox(this, Portrait.EXECUTIONER, Color.WHITE);
+        this.fadeIn = new FadeIn(this, Color.BLACK, (byte) 11);
+        this.fadeOut = new FadeOut(this, Color.BLACK, (byte) 11);
+    }
+
+    /**
+     * Starts recording a game that just started.
+     *
+     * @param engine The game.
+     * @return The {@link Recorder}, or {@code null} if nothing is recorded.
+     */
+    @Nullable
+    protected abstract Recorder startRecording(@Nonnull E engine);
+
+    /**
+     * Called when an {@link Action} is picked.
+     * <br />
+     * By default, the game moves on to the {@link Action#getState() state} of the {@link Action}.
+     *
+     * @param action The picked {@link Action}.
+     */
+    protected void onAction(@Nonnull Action action) {
+        setState(action.getState());
+    }
+
+    /**
+     * Called whenever the game moves on to a {@link GameState}, before it is acted on.
+     *
+     * @param state The state.
+     */
+    protected void onStateChange(@Nonnull GameState state) {
+        // do nothing by default
+    }
+
+    /**
+     * Called once the game is won, before the win is read out.
+     *
+     * @return True if the mode moves on by itself and the win shouldn't be read out, false otherwise.
+     */
+    protected boolean onWon() {
+        return false;
+    }
+
+    /**
+     * Gets whether the letters of the word are spaced out.
+     *
+     * @param length The length of the word.
+     * @return True if the letters are spaced out, false otherwise.
+     */
+    protected boolean isSpaced(int length) {
+        return length < 10;
+    }
+
+    @Override
+    protected void onLoad() {
+        this.fadeIn.onFinish(() -> {
+            this.faded = true;
+            if (textInput != null)
+                action.spawn();
+            fadeIn.dispose();
+        });
+        this.light.setLocation(Location.topCenter(light.getBounds()));
+        this.hands.setLocation(Location.bottomCenter(hands.getBounds()));
+        this.table.setLocation(Location.bottomCenter(table.getBounds()));
+        this.textBox.setLocation(Location.bottomCenter(textBox.getBounds()));
+        this.guessText.setLocation(Location.bottomRight(guessText.getBounds()));
+        this.overlay.setLocation(Location.bottomLeft(overlay.getBounds()));
+        this.light.setRenderPriority(new RenderPriority(124));
+        this.hands.setRenderPriority(new RenderPriority(125));
+        this.textBox.setRenderPriority(new RenderPriority(126));
+        addRenderables(overlay, table, hands, light, guessText, action, textBox, fadeIn, fadeOut);
+        spawnAll(table, hands, light);
+        if (!fadeIn.isDead())
+            fadeIn.spawn();
+        this.action.onSelect(() -> onAction(action.getSelected()));
+        if (textInput != null) {
+            // resumed from the pause menu
+            if (textBox.hasNextLine())
+                textBox.spawn();
+            placeTextInput();
+            updateGuessedLetters();
+            updateGuesses();
+            return;
+        }
+        onComplete(pending, (game, e) -> {
+            if (e != null) {
+                e.printStackTrace();
+                setScene(new MainMenu());
+                return;
+            }
+            start(game);
+        });
+    }
+
+    /**
+     * Starts the game once it has arrived.
+     * <br />
+     * Unless there is still text to read, the options are shown right away.
+     *
+     * @param engine The game.
+     */
+    private void start(@Nonnull E engine) {
+        if (textInput != null)
+            return;
+        this.engine = engine;
+        this.textInput = new TextInput(this, engine.getLength(), 5, isSpaced(engine.getLength()));
+        if (state == null || waiting)
+            setState(GameState.PICKING_OPTION);
+        placeTextInput();
+        updateGuessedLetters();
+        updateGuesses();
+        if (faded)
+            action.spawn();
+        this.recorder = startRecording(engine);
+        record(recorder);
+    }
+
+    private void placeTextInput() {
+        this.textInput.setLocation(Location.center(textInput.getBounds()));
+        this.action.setLocation(Location.center(action.getBounds()));
+        this.action.getLocation().setY(textInput.getLocation().getY() + textBox.getBounds().height / 2);
+        addRenderable(textInput);
+        spawnAll(textInput, guessText, overlay);
+    }
+
+    @Override
+    protected void onUnload() {
+        // paused or left, so nothing recorded is lost if the game is quit from here
+        if (recorder != null)
+            recorder.flush();
+    }
+
+    @Override
+    protected Set<Key> getKeyListeners() {
+        return this.keys;
+    }
+
+    @Override
+    protected void onKeyPress(Key key) {
+        if (key == Key.ESCAPE) {
+            setScene(new PauseMenu(this));
+            return;
+        }
+        // still waiting for the game
+        if (state == null)
+            return;
+        switch (state) {
+            case GUESSING_LETTER: {
+                if (key.isActionKey())
+                    return;
+                CharMap map = Validator.requireNotNull(key.getMap());
+                if (engine.isGuessed(map.getCharacter()))
+                    return;
+                guessLetter(map.getCharacter());
+                updateGuesses();
+                setState(GameState.PICKING_OPTION);
+                break;
+            }
+            case GUESSING_WORD: {
+                if (key == Key.ENTER) {
+                    if (textInput.isInvalid())
+                        return;
+                    guessWord(textInput.getInput());
+                    updateGuesses();
+                    setState(GameState.PICKING_OPTION);
+                    return;
+                }
+                textInput.handleKeyInput(key);
+                break;
+            }
+            case READING_TEXT:
+            case GAME_OVER:
+            case GAME_WON:
+                if (key == Key.ENTER && textBox.hasNextLine())
+                    textBox.nextLine();
+                break;
+            case PICKING_OPTION: {
+                if (key == Key.ENTER)
+                    action.select();
+                if (key == Key.ARROW_LEFT)
+                    action.scrollLeft();
+                if (key == Key.ARROW_RIGHT)
+                    action.scrollRight();
+                break;
+            }
+            default:
+        }
+    }
+
+    @Override
+    protected void focusLost(FocusEvent event) {
+        setScene(new PauseMenu(this));
+    }
+
+    /**
+     * Moves the game on to the given {@link GameState}.
+     *
+     * @param state The state.
+     */
+    protected final void setState(@Nonnull GameState state) {
+        if (state == GameState.PICKING_OPTION && textInput == null) {
+            // picked back up once the game arrives
+            this.waiting = true;
+            action.setVisible(false);
+            return;
+        }
+        this.state = state;
+        onStateChange(state);
+        switch (state) {
+            case READING_TEXT: {
+                action.setVisible(false);
+                textBox.setVisible(true);
+                break;
+            }
+            case PICKING_OPTION: {
+                if (engine.isLost()) {
+                    setState(GameState.GAME_OVER);
+                    return;
+                }
+                if (engine.isWon()) {
+                    setState(GameState.GAME_WON);
+                    return;
+                }
+                textBox.setVisible(false);
+                action.setVisible(true);
+                action.setFocused(true);
+                updateGuessedLetters();
+                break;
+            }
+            case GAME_OVER: {
+                action.setVisible(false);
+                textBox.setVisible(true);
+                List<String> script = Script.getScript().getSection(ScriptSection.GAME_LOST);
+                byte index = 0;
+                for (byte b = 0; b < script.size(); b++) {
+                    if (script.get(b).contains("%word%"))
+                        index = b;
+                }
+                script.set(index, script.get(index).replace("%word%", engine.getWord()));
+                textBox.addLines(script);
+                fadeOut.onFinish(() -> end(false));
+                textBox.onFinish(fadeOut::spawn);
+                textBox.spawn();
+                break;
+            }
+            case GUESSING_LETTER:
+            case GUESSING_WORD:
+                action.setVisible(false);
+                break;
+            case GAME_WON: {
+                if (onWon())
+                    return;
+                action.setVisible(false);
+                textBox.setVisible(true);
+                List<String> script = Script.getScript().getSection(ScriptSection.GAME_WON);
+                textBox.addLines(script);
+                fadeOut.onFinish(() -> end(true));
+                textBox.onFinish(fadeOut::spawn);
+                textBox.spawn();
+                break;
+            }
+            default:
+        }
+        overlay.clear();
+        overlay.setIcons(state.getOverlay());
+    }
+
+    private void end(boolean won) {
+        if (recorder != null)
+            recorder.close();
+        setScene(new EndScreen(won));
+    }
+
+    /**
+     * Gets the game, once it has arrived.
+     *
+     * @return The game, or {@code null} if it hasn't arrived yet.
+     */
+    @Nullable
+    E getEngine() {
+        return engine;
+    }
+
+    private void updateGuesses() {
+        BufferedImage guessText = new TexturePreprocessor(String.valueOf(engine.getGuesses()))
+                .color(Color.RED)
+                .scale(3)
+                .removeBackground()
+                .cached()
+                .build();
+        this.guessText.setImage(guessText);
+        this.guessText.setLocation(Location.bottomRight(this.guessText.getBounds()));
+    }
+
+    private void guessLetter(char c) {
+        for (int found = engine.guessLetter(c); found != 0; found &= found - 1) {
+            int i = Integer.numberOfTrailingZeros(found);
+            textInput.setCharacter(i, c);
+            textInput.lockCharacter(i);
+        }
+    }
+
+    private void guessWord(String word) {
+        int matches = engine.guessWord(word);
+        for (int i = 0; i < engine.getLength(); i++) {
+            if ((matches >>> i & 1) != 0) {
+                textInput.setCharacter(i, engine.getLetter(i));
+                textInput.lockCharacter(i);
+            } else if (!engine.isRevealed(i))
+                textInput.setCharacter(i, ' ');
+        }
+    }
+
+    private void updateGuessedLetters() {
+        int wrong = engine.getWrong();
+        if (wrong == 0)
+            return;
+        BufferedImage image = new TexturePreprocessor(GameEngine.toString(wrong))
+                .color(Color.RED)
+                .removeBackground()
+                .scale(2)
+                .build();
+        if (letters == null) {
+            letters = new FixedTexture(this, image);
+            letters.setRenderPriority(new RenderPriority(126));
+            addRenderable(letters);
+            letters.spawn();
+        } else
+            this.letters.setImage(image);
+        this.letters.setLocation(Location.topCenter(letters.getBounds()));
+    }
+}
@@ -0,0 +1,153 @@
+package dev.glitchedcoder.hangman.scene.mode;
+
+import dev.glitchedcoder.hangman.Hangman;
+import dev.glitchedcoder.hangman.game.Engine;
+import dev.glitchedcoder.hangman.game.EvilEngine;
+import dev.glitchedcoder.hangman.game.GameEngine;
+import dev.glitchedcoder.hangman.scene.menu.PauseMenu;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.LatencyHistogram;
+import dev.glitchedcoder.hangman.window.Headless;
+import dev.glitchedcoder.hangman.window.Recorder;
+import dev.glitchedcoder.hangman.window.Replay;
+import dev.glitchedcoder.hangman.window.Scene;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Plays a {@link Replay} back through a {@link Headless} game, without a window.
+ * <br />
+ * The mode is created the same way it was when recorded, but the word, or
+ * the game picked from the seed, is handed over on the exact tick the session
+ * started on instead of whenever it would arrive. Every key press is then
+ * pressed right before the tick it was handled on, and pausing is resumed
+ * from straight away, as the {@link Scene} doesn't tick while paused.
+ * <br />
+ * How long each tick and frame took is printed once the session ends, so a
+ * replay doubles as a repeatable benchmark of a real game.
+ * <br />
+ * Run with {@code java -jar "Hanged Men.jar" --replay <file>}.
+ */
+public final class ReplayRunner {
+
+    /**
+     * The argument that starts the {@link ReplayRunner} instead of the game.
+     */
+    public static final String ARGUMENT = "--replay";
+
+    // long enough for the last line of text to be read and the fade out to finish
+    private static final int LINGER = Constants.TICK_RATE * 5;
+
+    private ReplayRunner() {
+    }
+
+    /**
+     * Plays the given replay, printing the outcome to {@link System#out}.
+     *
+     * @param args The replay file, without {@link #ARGUMENT}.
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: " + ARGUMENT + " <file>");
+            return;
+        }
+        File file = new File(args[0]);
+        Replay replay;
+        try {
+            replay = Replay.read(file);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not read '" + file + "': " + e.getMessage());
+            return;
+        }
+        if (replay.getDropped() > 0)
+            System.err.printf("%d key presses were not recorded, the replay will differ.%n", replay.getDropped());
+        // replaying would otherwise record another replay
+        Recorder.setEnabled(false);
+        // created first, so scenes can be placed
+        Headless headless = new Headless();
+        Scene scene;
+        Runnable start;
+        switch (replay.getMode()) {
+            case FreeMode.MODE: {
+                CompletableFuture<String> word = new CompletableFuture<>();
+                scene = new FreeMode(word);
+                start = () -> word.complete(replay.getWord());
+                break;
+            }
+            case EvilMode.MODE: {
+                CompletableFuture<EvilEngine> game = new CompletableFuture<>();
+                EvilEngine engine;
+                try {
+                    engine = EvilMode.create(replay.getSeed());
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Could not create the game: " + e.getMessage());
+                    return;
+                }
+                scene = new EvilMode(replay.getSeed(), game);
+                start = () -> game.complete(engine);
+                break;
+            }
+            default:
+                System.err.println("Unknown mode '" + replay.getMode() + "'.");
+                return;
+        }
+        try {
+            // anything the scene started on the executor is ready before the first tick, as it was when played
+            Hangman.getExecutor().submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+            return;
+        }
+        System.out.printf("Replaying %s mode (seed %d, word '%s'), %d key presses%s%n", replay.getMode(),
+                replay.getSeed(), replay.getWord(), replay.size(), replay.isComplete() ? "" : ", left partway through");
+        LatencyHistogram ticks = new LatencyHistogram();
+        LatencyHistogram frames = new LatencyHistogram();
+        long last = replay.size() == 0 ? replay.getStart() : replay.getTick(replay.size() - 1);
+        int next = 0;
+        long tick = 0;
+        headless.setScene(scene);
+        while (next < replay.size() || tick <= last + LINGER) {
+            Scene current = headless.getScene();
+            if (current instanceof PauseMenu)
+                headless.setScene(scene);
+            else if (current != scene)
+                break;
+            if (tick == replay.getStart())
+                start.run();
+            for (; next < replay.size() && replay.getTick(next) == tick; next++) {
+                if (!headless.press(replay.getKey(next)))
+                    System.err.printf("Key %s on tick %d was not pressed.%n", replay.getKey(next), tick);
+            }
+            long before = System.nanoTime();
+            headless.tick();
+            long ticked = System.nanoTime();
+            headless.draw();
+            frames.record(System.nanoTime() - ticked);
+            ticks.record(ticked - before);
+            tick++;
+        }
+        System.out.printf("Ended on tick %d: %s%n", tick, outcome(scene));
+        System.out.println("Ticks: " + ticks);
+        System.out.println("Frames: " + frames);
+        headless.close();
+    }
+
+    private static String outcome(Scene scene) {
+        Engine engine = ((GameMode<?>) scene).getEngine();
+        if (engine == null)
+            return "never started";
+        return outcome(engine.isWon(), engine.isOver(), engine.getWord(), engine.getGuesses(), engine.getWrong());
+    }
+
+    private static String outcome(boolean won, boolean over, String word, int guesses, int wrong) {
+        String result = won ? "won" : over ? "lost" : "unfinished";
+        return String.format("%s, word '%s', %d guesses left, wrong letters '%s'",
+                result, word, guesses, GameEngine.toString(wrong));
+    }
+}
@@ -3,6 +3,7 @@ package dev.glitchedcoder.hangman.ui;
 import dev.glitchedcoder.hangman.util.Validator;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.awt.image.BufferedImage;
 import java.util.Collections;
 import java.util.HashMap;
@@ -12,9 +13,9 @@ import java.util.Map;
  * Used to map characters to {@link Texture}s.
  * <br />
  * Used to map {@link String}s to {@link BufferedImage}s.
- * These images are then pre-processed in the
- * {@link dev.glitchedcoder.hangman.window.Scene} and then
- * are stitched together to make one large {@link BufferedImage}.
+ * The glyphs of every character are packed into the
+ * {@link GlyphAtlas}, which lays out whole strings as
+ * one large {@link BufferedImage}.
  */
 public enum CharMap {
 
@@ -68,22 +69,22 @@ public enum CharMap {
     COLON(':', Texture.COLON);
 
     /**
-     * Used as a character-to-{@link Texture} lookup.
+     * Used as a character-to-{@link CharMap} lookup.
      * <br />
      * Since the implementation of this is a {@link HashMap},
-     * the time complexity of a single character to {@link Texture}
+     * the time complexity of a single character to {@link CharMap}
      * lookup is O(1) and is as efficient as it can get.
      */
-    private static final Map<Character, Texture> LOOKUP;
+    private static final Map<Character, CharMap> LOOKUP;
 
     static {
-        Map<Character, Texture> map = new HashMap<>();
+        Map<Character, CharMap> map = new HashMap<>();
         for (CharMap m : values()) {
             if (Character.isAlphabetic(m.c)) {
-                map.put(Character.toLowerCase(m.c), m.t);
-                map.put(Character.toUpperCase(m.c), m.t);
+                map.put(Character.toLowerCase(m.c), m);
+                map.put(Character.toUpperCase(m.c), m);
             } else
-                map.put(m.c, m.t);
+                map.put(m.c, m);
         }
         LOOKUP = Collections.unmodifiableMap(map);
     }
@@ -115,6 +116,19 @@ public enum CharMap {
         return t;
     }
 
+    /**
+     * Gets the {@link CharMap} for the given character.
+     * <br />
+     * Alphabetic characters are case-insensitive.
+     *
+     * @param c The character to look up.
+     * @return The {@link CharMap} for the given character, or {@code null} if none exists.
+     */
+    @Nullable
+    public static CharMap of(char c) {
+        return LOOKUP.get(c);
+    }
+
     /**
      * Translates the given character to a {@link BufferedImage}.
      * <br />
@@ -129,7 +143,7 @@ public enum CharMap {
     @Nonnull
     public static BufferedImage translate(char c) {
         Validator.checkArgument(LOOKUP.containsKey(c), "Invalid character given on translation: '{}'!", c);
-        return Validator.requireNotNull(LOOKUP.get(c).asImage());
+        return Validator.requireNotNull(LOOKUP.get(c).t.asImage());
     }
 
     /**
@@ -148,7 +162,7 @@ public enum CharMap {
         for (int i = 0; i < s.length(); i++) {
             char c = array[i];
             Validator.checkArgument(LOOKUP.containsKey(c), "Invalid character given on translation: '{}'!", c);
-            images[i] = LOOKUP.get(c).asImage();
+            images[i] = LOOKUP.get(c).t.asImage();
         }
         return images;
     }
@@ -0,0 +1,165 @@
+package dev.glitchedcoder.hangman.ui;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * Holds every {@link CharMap} glyph packed into a single raster.
+ * <br />
+ * Instead of decoding and stitching one {@link BufferedImage}
+ * per character, text is {@link #layout(String) laid out} by
+ * measuring the string once and copying each glyph's rows
+ * straight from the atlas into one destination image.
+ * <br />
+ * The atlas is built lazily on first use.
+ */
+public final class GlyphAtlas {
+
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+    private final Rectangle[] glyphs;
+
+    private static volatile GlyphAtlas instance;
+
+    private GlyphAtlas() {
+        CharMap[] maps = CharMap.values();
+        BufferedImage[] images = new BufferedImage[maps.length];
+        int width = 0;
+        int height = 0;
+        for (int i = 0; i < maps.length; i++) {
+            images[i] = Validator.requireNotNull(maps[i].getTexture().asSharedImage());
+            width += images[i].getWidth();
+            height = Math.max(height, images[i].getHeight());
+        }
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+        this.glyphs = new Rectangle[maps.length];
+        // pack every glyph left to right in a single row
+        int x = 0;
+        for (int i = 0; i < maps.length; i++) {
+            BufferedImage image = images[i];
+            int w = image.getWidth();
+            int h = image.getHeight();
+            image.getRGB(0, 0, w, h, this.pixels, x, this.width);
+            this.glyphs[i] = new Rectangle(x, 0, w, h);
+            x += w;
+        }
+        // fully transparent pixels are stored as 0, the same as drawing them would leave them
+        for (int i = 0; i < pixels.length; i++) {
+            if ((pixels[i] >>> 24) == 0)
+                pixels[i] = 0;
+        }
+    }
+
+    /**
+     * Gets the {@link GlyphAtlas} instance.
+     * <br />
+     * If one does not exist, it will be built.
+     *
+     * @return The {@link GlyphAtlas} instance.
+     */
+    @Nonnull
+    public static GlyphAtlas getAtlas() {
+        GlyphAtlas atlas = instance;
+        if (atlas == null) {
+            synchronized (GlyphAtlas.class) {
+                atlas = instance;
+                if (atlas == null) {
+                    atlas = new GlyphAtlas();
+                    instance = atlas;
+                }
+            }
+        }
+        return atlas;
+    }
+
+    /**
+     * Gets the rectangle the given {@link CharMap}'s glyph occupies in the atlas.
+     *
+     * @param map The character map.
+     * @return A copy of the glyph's rectangle within the atlas.
+     */
+    @Nonnull
+    public Rectangle getGlyph(@Nonnull CharMap map) {
+        Validator.requireNotNull(map, "Given map is null!");
+        return new Rectangle(glyphs[map.ordinal()]);
+    }
+
+    /**
+     * Measures the size the given text will take up when {@link #layout(String) laid out}.
+     *
+     * @param text The text to measure.
+     * @return The width and height of the laid out text.
+     * @throws IllegalArgumentException Thrown if the text contains an invalid character.
+     */
+    @Nonnull
+    public Rectangle measure(@Nonnull String text) {
+        Validator.requireNotNull(text, "Given text is null!");
+        int w = 0;
+        int h = 0;
+        for (int i = 0; i < text.length(); i++) {
+            Rectangle glyph = glyphs[lookup(text.charAt(i)).ordinal()];
+            w += glyph.width;
+            h = Math.max(h, glyph.height);
+        }
+        return new Rectangle(w, h);
+    }
+
+    /**
+     * Lays out the given text as a single {@link BufferedImage}.
+     * <br />
+     * The text is measured first, so only one image is allocated
+     * no matter how long the text is. Each glyph is then copied
+     * row by row from the atlas into the destination image.
+     *
+     * @param text The text to lay out.
+     * @return A new {@link BufferedImage#TYPE_INT_ARGB} image of the text.
+     * @throws IllegalArgumentException Thrown if the text is empty or contains an invalid character.
+     */
+    @Nonnull
+    public BufferedImage layout(@Nonnull String text) {
+        Validator.requireNotNull(text, "Given text is null!");
+        Validator.checkArgument(!text.isEmpty(), "Given text is empty.");
+        Rectangle size = measure(text);
+        BufferedImage image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        int[] dest = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int x = 0;
+        for (int i = 0; i < text.length(); i++) {
+            Rectangle glyph = glyphs[lookup(text.charAt(i)).ordinal()];
+            for (int row = 0; row < glyph.height; row++)
+                System.arraycopy(pixels, row * width + glyph.x, dest, row * size.width + x, glyph.width);
+            x += glyph.width;
+        }
+        return image;
+    }
+
+    /**
+     * Gets the width of the atlas.
+     *
+     * @return The width of the atlas.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the atlas.
+     *
+     * @return The height of the atlas.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    private static CharMap lookup(char c) {
+        CharMap map = CharMap.of(c);
+        Validator.checkArgument(map != null, "Invalid character given on translation: '{}'!", c);
+        return map;
+    }
+}
@@ -0,0 +1,216 @@
+package dev.glitchedcoder.hangman.ui;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.WritableRaster;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A size-aware, least-recently-used cache of {@link BufferedImage}s.
+ * <br />
+ * The cache tracks the total amount of bytes held by all of its
+ * images and evicts the least recently used images once the
+ * {@link #getBudget() budget} has been exceeded.
+ * <br />
+ * Images held by the cache are shared and should never be modified.
+ * Use {@link #copy(BufferedImage)} if a modifiable image is needed.
+ *
+ * @param <K> The type of key.
+ */
+public final class ImageCache<K> {
+
+    private long size;
+    private long budget;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+    private final LinkedHashMap<K, BufferedImage> images;
+
+    public ImageCache(long budget) {
+        Validator.checkArgument(budget > 0, "Given budget {} <= 0.", budget);
+        this.budget = budget;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        // access-ordered, meaning the eldest entry is the least recently used
+        this.images = new LinkedHashMap<>(16, 0.75F, true);
+    }
+
+    /**
+     * Gets the image mapped to the given key.
+     * <br />
+     * If the image is not cached, the given loader is used to
+     * load the image, which is then cached. The loader is called
+     * outside of the cache's lock, so two threads may load the
+     * same image at once, in which case the first one wins.
+     * <br />
+     * The returned image is shared and should not be modified.
+     *
+     * @param key    The key of the image.
+     * @param loader The function used to load the image if not cached.
+     * @return The cached image, or {@code null} if the loader returned {@code null}.
+     */
+    @Nullable
+    public BufferedImage get(@Nonnull K key, @Nonnull Function<? super K, BufferedImage> loader) {
+        Validator.requireNotNull(key, "Given key is null!");
+        synchronized (this) {
+            BufferedImage image = images.get(key);
+            if (image != null) {
+                hits.incrementAndGet();
+                return image;
+            }
+        }
+        misses.incrementAndGet();
+        BufferedImage loaded = loader.apply(key);
+        if (loaded == null)
+            return null;
+        synchronized (this) {
+            BufferedImage existing = images.get(key);
+            if (existing != null)
+                return existing;
+            images.put(key, loaded);
+            size += sizeOf(loaded);
+            trim();
+        }
+        return loaded;
+    }
+
+    /**
+     * Removes every image from the cache.
+     * <br />
+     * Does not count towards {@link #getEvictions()}.
+     */
+    public synchronized void clear() {
+        images.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the amount of images currently cached.
+     *
+     * @return The amount of images currently cached.
+     */
+    public synchronized int getCount() {
+        return images.size();
+    }
+
+    /**
+     * Gets the total amount of bytes held by the cached images.
+     *
+     * @return The total amount of bytes held by the cache.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum amount of bytes the cache may hold.
+     *
+     * @return The budget of the cache, in bytes.
+     */
+    public synchronized long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the maximum amount of bytes the cache may hold.
+     * <br />
+     * If the cache is over the new budget, the least
+     * recently used images are evicted immediately.
+     *
+     * @param budget The new budget, in bytes.
+     * @throws IllegalArgumentException Thrown if the given budget is {@code <= 0}.
+     */
+    public synchronized void setBudget(long budget) {
+        Validator.checkArgument(budget > 0, "Given budget {} <= 0.", budget);
+        this.budget = budget;
+        trim();
+    }
+
+    /**
+     * Gets the amount of lookups that were served from the cache.
+     *
+     * @return The amount of cache hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the amount of lookups that had to load the image.
+     *
+     * @return The amount of cache misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the amount of images evicted due to the budget being exceeded.
+     *
+     * @return The amount of evictions.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return Validator.format("ImageCache[count={}, size={}, budget={}, hits={}, misses={}, evictions={}]",
+                images.size(), size, budget, hits.get(), misses.get(), evictions.get());
+    }
+
+    /**
+     * Evicts the least recently used images until
+     * the cache is within its {@link #getBudget() budget}.
+     * <br />
+     * The most recently used image is never evicted, even
+     * if it alone is larger than the budget.
+     */
+    private void trim() {
+        Iterator<Map.Entry<K, BufferedImage>> iterator = images.entrySet().iterator();
+        while (size > budget && images.size() > 1 && iterator.hasNext()) {
+            BufferedImage eldest = iterator.next().getValue();
+            iterator.remove();
+            size -= sizeOf(eldest);
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the amount of bytes the pixels of the given image take up.
+     *
+     * @param image The image.
+     * @return The amount of bytes held by the image's raster.
+     */
+    public static long sizeOf(@Nonnull BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        long elementSize = DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+        return (long) buffer.getSize() * buffer.getNumBanks() * Math.max(1, elementSize);
+    }
+
+    /**
+     * Creates a modifiable copy of the given {@link BufferedImage}.
+     * <br />
+     * The copy shares the same {@link java.awt.image.ColorModel}
+     * and raster layout, so the copy is a plain array copy rather
+     * than a per-pixel conversion.
+     *
+     * @param image The image to copy.
+     * @return A new {@link BufferedImage} with the same pixels as the given image.
+     */
+    @Nonnull
+    public static BufferedImage copy(@Nonnull BufferedImage image) {
+        WritableRaster raster = image.copyData(image.getRaster().createCompatibleWritableRaster());
+        return new BufferedImage(image.getColorModel(), raster, image.isAlphaPremultiplied(), null);
+    }
+}
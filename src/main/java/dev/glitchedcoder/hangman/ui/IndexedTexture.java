@@ -0,0 +1,254 @@
+package dev.glitchedcoder.hangman.ui;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A palette-indexed representation of a {@link Texture}.
+ * <br />
+ * Every pixel of the {@link Texture} is stored as a single byte
+ * pointing into a palette of the {@link Texture}'s distinct colors.
+ * Recoloring the {@link Texture} is done by swapping the palette,
+ * so the pixels are never touched, and the scaled index rasters
+ * are shared between every image created at the same scale.
+ * <br />
+ * Only the rasters of the {@link #MAX_RASTERS} most recently used scales
+ * are kept, so switching resolutions doesn't leave the rasters of every
+ * resolution ever used behind.
+ * <br />
+ * Images created by an {@link IndexedTexture} share their raster
+ * with each other and should never be modified.
+ */
+public final class IndexedTexture {
+
+    private final int width;
+    private final int height;
+    private final int[] palette;
+    private final byte[] indices;
+    private final ColorModel model;
+    private final boolean threeByte;
+    // the bits of each scale and its raster, most recently used first
+    private final long[] scales;
+    private final WritableRaster[] rasters;
+    private int rasterCount;
+
+    private static final int MAX_COLORS = 256;
+    // a texture is rarely drawn at more than a couple of scales per resolution
+    private static final int MAX_RASTERS = 4;
+    // one entry per texture at most, each holding the unscaled indices and up to MAX_RASTERS rasters
+    private static final Map<Texture, IndexedTexture> TEXTURES = new EnumMap<>(Texture.class);
+
+    private IndexedTexture(BufferedImage image, int[] palette, byte[] indices) {
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.palette = palette;
+        this.indices = indices;
+        this.model = image.getColorModel();
+        this.threeByte = image.getType() == BufferedImage.TYPE_3BYTE_BGR;
+        this.scales = new long[MAX_RASTERS];
+        this.rasters = new WritableRaster[MAX_RASTERS];
+    }
+
+    /**
+     * Gets the {@link IndexedTexture} of the given {@link Texture}.
+     * <br />
+     * The {@link Texture} is indexed once and kept for
+     * the lifetime of the application.
+     *
+     * @param texture The texture.
+     * @return The {@link IndexedTexture}, or {@code null} if the
+     *         {@link Texture} failed to load or has more than 256 colors.
+     */
+    @Nullable
+    public static IndexedTexture of(@Nonnull Texture texture) {
+        Validator.requireNotNull(texture, "Given texture is null!");
+        synchronized (TEXTURES) {
+            if (TEXTURES.containsKey(texture))
+                return TEXTURES.get(texture);
+        }
+        BufferedImage image = texture.asSharedImage();
+        IndexedTexture indexed = image == null ? null : index(image);
+        synchronized (TEXTURES) {
+            TEXTURES.putIfAbsent(texture, indexed);
+            return TEXTURES.get(texture);
+        }
+    }
+
+    /**
+     * Creates an image of the {@link IndexedTexture} with the given palette.
+     * <br />
+     * The returned image is backed by the index raster shared by
+     * every image of the same scale, so only the palette is new.
+     *
+     * @param scalar  The scale of the image.
+     * @param palette The palette, as ARGB colors in the same order as {@link #getPalette()}.
+     * @return A new {@link BufferedImage#TYPE_BYTE_INDEXED} image.
+     * @throws IllegalArgumentException Thrown if the palette is not the same size as {@link #getPalette()},
+     *                                  or if the scaled image would be empty.
+     */
+    @Nonnull
+    public BufferedImage createImage(double scalar, @Nonnull int[] palette) {
+        Validator.requireNotNull(palette, "Given palette is null!");
+        Validator.checkArgument(palette.length == this.palette.length,
+                "Given palette has {} colors, expected {}.", palette.length, this.palette.length);
+        WritableRaster raster = getRaster(scalar);
+        IndexColorModel model = new IndexColorModel(8, palette.length, palette, 0, true, -1, DataBuffer.TYPE_BYTE);
+        return new BufferedImage(model, raster, false, null);
+    }
+
+    /**
+     * Gets a copy of the palette.
+     * <br />
+     * Each color is a non-premultiplied ARGB color as returned by
+     * {@link BufferedImage#getRGB(int, int)} on the source image.
+     *
+     * @return A copy of the palette.
+     */
+    @Nonnull
+    public int[] getPalette() {
+        return palette.clone();
+    }
+
+    /**
+     * Gets the {@link ColorModel} of the source image.
+     *
+     * @return The {@link ColorModel} of the source image.
+     */
+    @Nonnull
+    public ColorModel getColorModel() {
+        return model;
+    }
+
+    /**
+     * Gets the unscaled width of the {@link IndexedTexture}.
+     *
+     * @return The unscaled width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the unscaled height of the {@link IndexedTexture}.
+     *
+     * @return The unscaled height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the amount of bytes held by the {@link IndexedTexture}.
+     * <br />
+     * This includes the unscaled indices and every scaled raster kept.
+     *
+     * @return The amount of bytes held.
+     */
+    public synchronized long getSize() {
+        long size = indices.length + palette.length * 4L;
+        for (int i = 0; i < rasterCount; i++)
+            size += rasters[i].getDataBuffer().getSize();
+        return size;
+    }
+
+    /**
+     * Gets the index raster for the given scale, scaling it if necessary.
+     * <br />
+     * If {@link #MAX_RASTERS} rasters are already kept, the raster of the
+     * least recently used scale is dropped. Images already created with it
+     * keep working, they just no longer share it with new images.
+     *
+     * @param scalar The scale.
+     * @return The shared index raster.
+     */
+    private synchronized WritableRaster getRaster(double scalar) {
+        long key = Double.doubleToLongBits(scalar);
+        for (int i = 0; i < rasterCount; i++) {
+            if (scales[i] == key) {
+                WritableRaster raster = rasters[i];
+                moveToFront(i, key, raster);
+                return raster;
+            }
+        }
+        int newWidth = (int) (width * scalar);
+        int newHeight = (int) (height * scalar);
+        Validator.checkArgument(newWidth > 0 && newHeight > 0, "Scaled texture is empty ({}x{}).", newWidth, newHeight);
+        WritableRaster raster = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, newWidth, newHeight, 1, null);
+        byte[] dest = ((DataBufferByte) raster.getDataBuffer()).getData();
+        if (newWidth == width && newHeight == height) {
+            System.arraycopy(indices, 0, dest, 0, indices.length);
+        } else {
+            // scale the indices through java2d, encoded as colors in an image of
+            // the same kind as the source, so the same source pixels are picked
+            // as when the decoded texture itself is drawn scaled
+            int type = threeByte ? BufferedImage.TYPE_3BYTE_BGR : BufferedImage.TYPE_INT_ARGB;
+            BufferedImage encoded = new BufferedImage(width, height, type);
+            int[] pixels = new int[indices.length];
+            for (int i = 0; i < indices.length; i++)
+                pixels[i] = 0xFF000000 | (indices[i] & 0xFF);
+            encoded.setRGB(0, 0, width, height, pixels, 0, width);
+            BufferedImage scaled = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics graphics = scaled.getGraphics();
+            graphics.drawImage(encoded, 0, 0, newWidth, newHeight, null);
+            graphics.dispose();
+            int[] decoded = ((DataBufferInt) scaled.getRaster().getDataBuffer()).getData();
+            for (int i = 0; i < decoded.length; i++)
+                dest[i] = (byte) decoded[i];
+        }
+        // the least recently used raster falls off the end when full
+        this.rasterCount = Math.min(rasterCount + 1, MAX_RASTERS);
+        moveToFront(rasterCount - 1, key, raster);
+        return raster;
+    }
+
+    private void moveToFront(int index, long key, WritableRaster raster) {
+        System.arraycopy(scales, 0, scales, 1, index);
+        System.arraycopy(rasters, 0, rasters, 1, index);
+        this.scales[0] = key;
+        this.rasters[0] = raster;
+    }
+
+    /**
+     * Indexes the given image.
+     *
+     * @param image The image.
+     * @return The {@link IndexedTexture}, or {@code null} if the image has more than 256 colors.
+     */
+    @Nullable
+    private static IndexedTexture index(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        int[] palette = new int[MAX_COLORS];
+        int colors = 0;
+        byte[] indices = new byte[pixels.length];
+        Map<Integer, Integer> lookup = new HashMap<>();
+        for (int i = 0; i < pixels.length; i++) {
+            Integer index = lookup.get(pixels[i]);
+            if (index == null) {
+                if (colors == MAX_COLORS)
+                    return null;
+                index = colors;
+                palette[colors++] = pixels[i];
+                lookup.put(pixels[i], index);
+            }
+            indices[i] = (byte) (int) index;
+        }
+        return new IndexedTexture(image, Arrays.copyOf(palette, colors), indices);
+    }
+}
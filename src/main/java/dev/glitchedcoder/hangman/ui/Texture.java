@@ -1,8 +1,10 @@
 package dev.glitchedcoder.hangman.ui;
 
 import dev.glitchedcoder.hangman.Hangman;
+import dev.glitchedcoder.hangman.util.Constants;
 import dev.glitchedcoder.hangman.util.Validator;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
@@ -86,14 +88,69 @@ public enum Texture {
     HANGING_MAN_7("hanging_man_7"),
     HANGING_MAN_8("hanging_man_8");
 
+    /**
+     * Holds every decoded {@link Texture}.
+     * <br />
+     * Decoding a PNG is by far the most expensive part of
+     * loading a {@link Texture}, so each {@link Texture} is
+     * only decoded once for as long as it stays in the cache.
+     */
+    private static final ImageCache<Texture> CACHE = new ImageCache<>(Constants.TEXTURE_CACHE_BUDGET);
+
     private final String loc;
 
     Texture(String loc) {
         this.loc = "/texture/" + loc + ".png";
     }
 
+    /**
+     * Gets the {@link Texture} as a {@link BufferedImage}.
+     * <br />
+     * The {@link Texture} is decoded once and then served from
+     * the {@link #getCache() cache}. Every call returns a new copy
+     * of the cached image, which the caller is free to modify.
+     * Callers that only read or draw the image should use
+     * {@link #asSharedImage()} instead, which doesn't copy it.
+     *
+     * @return A copy of the decoded {@link Texture}, or {@code null} if it failed to load.
+     */
     @Nullable
     public BufferedImage asImage() {
+        BufferedImage image = asSharedImage();
+        return image == null ? null : ImageCache.copy(image);
+    }
+
+    /**
+     * Gets the cached {@link BufferedImage} of the {@link Texture}, without copying it.
+     * <br />
+     * The returned image is shared with every other caller,
+     * so it must only be read or drawn, never modified.
+     *
+     * @return The decoded {@link Texture}, or {@code null} if it failed to load.
+     * @see #asImage()
+     */
+    @Nullable
+    public BufferedImage asSharedImage() {
+        return CACHE.get(this, Texture::decode);
+    }
+
+    /**
+     * Gets the {@link ImageCache} holding all decoded {@link Texture}s.
+     *
+     * @return The {@link Texture} cache.
+     */
+    @Nonnull
+    public static ImageCache<Texture> getCache() {
+        return CACHE;
+    }
+
+    /**
+     * Reads and decodes the {@link Texture} from the resources.
+     *
+     * @return The decoded {@link Texture}, or {@code null} if it failed to load.
+     */
+    @Nullable
+    private BufferedImage decode() {
         try (InputStream in = Hangman.class.getResourceAsStream(this.loc)) {
             Validator.requireNotNull(in, "Failed to load texture '{}'!", this.loc);
             return ImageIO.read(in);
@@ -1,13 +1,17 @@
 package dev.glitchedcoder.hangman.ui;
 
 import dev.glitchedcoder.hangman.json.Config;
+import dev.glitchedcoder.hangman.util.Constants;
 import dev.glitchedcoder.hangman.util.Validator;
+import lombok.EqualsAndHashCode;
 
 import javax.annotation.Nonnull;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
 
 import static java.awt.Color.TRANSLUCENT;
 
@@ -16,11 +20,16 @@ public final class TexturePreprocessor {
     private String text;
     private Color color;
     private double scalar;
+    private boolean cached;
     private boolean removeBg;
+    private Texture texture;
     private BufferedImage image;
 
     private static final Color BACKGROUND;
     private static final Color[] COLOR_SWATCH;
+    // the fraction bits java2d steps through the source with when scaling
+    private static final int FIXED_POINT = 31;
+    private static final ImageCache<TextKey> TEXT_CACHE = new ImageCache<>(Constants.TEXT_CACHE_BUDGET);
 
     static {
         BACKGROUND = Color.BLACK;
@@ -33,19 +42,20 @@ public final class TexturePreprocessor {
     }
 
     public TexturePreprocessor(@Nonnull Texture texture) {
-        this.scalar = Config.getConfig().getResolution().getScalar();
-        this.image = texture.asImage();
+        Validator.requireNotNull(texture, "Given texture is null!");
+        this.scalar = Config.getConfig().getRenderScalar();
+        this.texture = texture;
     }
 
     public TexturePreprocessor(@Nonnull String text) {
         Validator.requireNotNull(text, "Given text is null!");
         Validator.checkArgument(!text.isEmpty(), "Given text is empty.");
         this.text = text;
-        this.scalar = Config.getConfig().getResolution().getScalar();
+        this.scalar = Config.getConfig().getRenderScalar();
     }
 
     public TexturePreprocessor(@Nonnull BufferedImage image) {
-        this.scalar = Config.getConfig().getResolution().getScalar();
+        this.scalar = Config.getConfig().getRenderScalar();
         this.image = image;
     }
 
@@ -99,66 +109,324 @@ public final class TexturePreprocessor {
         return this;
     }
 
+    /**
+     * Marks the flag to serve the {@link #build() built image} from the text cache.
+     * <br />
+     * Only applies to text. The text is only built if an image with
+     * the same text, color, scale, resolution and background flag is
+     * not already cached, otherwise the cached image is returned.
+     * <br />
+     * Cached images are shared, so the built image should not be modified.
+     *
+     * @return The current {@link TexturePreprocessor} instance.
+     * @see #getTextCache()
+     */
+    public TexturePreprocessor cached() {
+        this.cached = true;
+        return this;
+    }
+
     /**
      * Builds the new {@link BufferedImage} with the desired properties.
      * <br/>
      * Builds the {@link BufferedImage} in the following order:
      * <ol>
-     *     <li>If the text is not {@code null}, it builds it as an image.</li>
+     *     <li>If the text is not {@code null}, it is {@link GlyphAtlas#layout(String) laid out} as an image.</li>
      *     <li>The scale is adjusted by the resolution scalar.</li>
      *     <li>All {@link #BACKGROUND}-colored pixels are made translucent.</li>
      *     <li>The {@link #adjustColor(Color, Color) color is adjusted}.</li>
      *     <li>The image is scaled up.</li>
      * </ol>
+     * The pixels are read once, then background removal and recoloring
+     * are applied together in a single pass through a lookup table before
+     * the image is scaled up. The given image is never modified.
+     * <br />
+     * {@link Texture}s are instead recolored by swapping the palette of
+     * their {@link IndexedTexture}, so the returned image is shared and
+     * should not be modified.
      *
      * @return A new {@link BufferedImage} with the desired properties.
      */
     @Nonnull
     public BufferedImage build() {
+        if (cached && text != null) {
+            double resolution = Config.getConfig().getRenderScalar();
+            TextKey key = new TextKey(text, color, scalar, resolution, removeBg);
+            this.image = Validator.requireNotNull(TEXT_CACHE.get(key, k -> render()));
+            return this.image;
+        }
+        return render();
+    }
+
+    /**
+     * Gets the {@link ImageCache} holding all {@link #cached() cached} text.
+     *
+     * @return The text cache.
+     */
+    @Nonnull
+    public static ImageCache<?> getTextCache() {
+        return TEXT_CACHE;
+    }
+
+    /**
+     * Renders the image with the desired properties.
+     *
+     * @return A new {@link BufferedImage} with the desired properties.
+     * @see #build()
+     */
+    @Nonnull
+    private BufferedImage render() {
         // create the image from text (if text != null)
-        if (text != null) {
-            BufferedImage[] images = CharMap.translate(this.text);
-            this.image = images[0];
-            for (int i = 1; i < images.length; i++)
-                this.image = stitch(this.image, images[i]);
+        if (text != null)
+            this.image = GlyphAtlas.getAtlas().layout(this.text);
+        else if (texture != null) {
+            // recolor textures by swapping the palette, if they can be indexed
+            IndexedTexture indexed = IndexedTexture.of(texture);
+            if (indexed != null)
+                return renderIndexed(indexed);
+            this.image = texture.asSharedImage();
+            Validator.requireNotNull(this.image, "Failed to load texture {}!", texture);
         }
-        // remove the background if requested
-        if (removeBg) {
-            int rgb = BACKGROUND.getRGB();
-            for (int i = 0; i < image.getWidth(); i++) {
-                for (int j = 0; j < image.getHeight(); j++) {
-                    if (image.getRGB(i, j) != rgb)
-                        continue;
-                    image.setRGB(i, j, TRANSLUCENT);
-                }
+        int width = this.image.getWidth();
+        int height = this.image.getHeight();
+        ColorModel model = this.image.getColorModel();
+        // read the source pixels once, sharing the array if it's already ARGB
+        boolean argb = this.image.getType() == BufferedImage.TYPE_INT_ARGB;
+        int[] pixels;
+        if (argb)
+            pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+        else
+            pixels = this.image.getRGB(0, 0, width, height, null, 0, width);
+        // remove the background & adjust the color in a single pass
+        int[] lookup = createLookup(model);
+        if (lookup.length != 0) {
+            BufferedImage adjusted;
+            if (argb) {
+                adjusted = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                int[] dest = ((DataBufferInt) adjusted.getRaster().getDataBuffer()).getData();
+                for (int i = 0; i < pixels.length; i++)
+                    dest[i] = map(pixels[i], lookup);
+                pixels = dest;
+            } else {
+                for (int i = 0; i < pixels.length; i++)
+                    pixels[i] = map(pixels[i], lookup);
+                // keep the source's color model, java2d scales some models differently
+                adjusted = new BufferedImage(model, this.image.getRaster().createCompatibleWritableRaster(),
+                        model.isAlphaPremultiplied(), null);
+                adjusted.setRGB(0, 0, width, height, pixels, 0, width);
             }
+            this.image = adjusted;
         }
-        // adjust the color if necessary
-        if (color != null) {
-            for (Color color : COLOR_SWATCH) {
-                Color adjusted = adjustColor(color, this.color);
-                int rgb = color.getRGB();
-                int rgbAdjusted = adjusted.getRGB();
-                for (int i = 0; i < image.getWidth(); i++) {
-                    for (int j = 0; j < image.getHeight(); j++) {
-                        if (this.image.getRGB(i, j) != rgb)
-                            continue;
-                        this.image.setRGB(i, j, rgbAdjusted);
-                    }
-                }
+        // scale up the image
+        int newWidth = (int) (width * this.scalar);
+        int newHeight = (int) (height * this.scalar);
+        if (canBlit(this.image, pixels))
+            this.image = blit(pixels, width, height, newWidth, newHeight);
+        else {
+            BufferedImage newImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics graphics = newImage.getGraphics();
+            graphics.drawImage(this.image, 0, 0, newWidth, newHeight, null);
+            graphics.dispose();
+            this.image = newImage;
+        }
+        return this.image;
+    }
+
+    /**
+     * Checks if the given image can be {@link #blit(int[], int, int, int, int) blitted}
+     * instead of drawn, with the exact same result.
+     * <br />
+     * That is the case for images with an alpha channel that java2d scales
+     * through the same loop as ARGB, as long as every pixel is either opaque
+     * or fully translucent, since blending a partly translucent pixel onto
+     * the empty image can round its color. Images without alpha are scaled
+     * through loops that don't always pick the same source pixels.
+     *
+     * @param image  The image.
+     * @param pixels The ARGB pixels of the image.
+     * @return True if the image can be blitted.
+     */
+    static boolean canBlit(BufferedImage image, int[] pixels) {
+        switch (image.getType()) {
+            case BufferedImage.TYPE_INT_ARGB:
+            case BufferedImage.TYPE_4BYTE_ABGR:
+                break;
+            default:
+                return false;
+        }
+        for (int pixel : pixels) {
+            int alpha = pixel >>> 24;
+            if (alpha != 0 && alpha != 0xFF)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Scales the given ARGB pixels to a new image, by nearest neighbour.
+     * <br />
+     * Each pixel of the new image takes the source pixel under its center,
+     * stepped through in the same 31-bit fixed point as java2d, so the result
+     * is the same as {@link Graphics#drawImage(java.awt.Image, int, int, int, int, java.awt.image.ImageObserver)}
+     * without rendering hints. The source column of every new column is worked
+     * out once, so each row is just a series of array reads. Fully translucent
+     * pixels are left empty, as drawing them would.
+     *
+     * @param pixels    The ARGB pixels, each either opaque or fully translucent.
+     * @param width     The width of the pixels.
+     * @param height    The height of the pixels.
+     * @param newWidth  The width to scale to.
+     * @param newHeight The height to scale to.
+     * @return A new {@link BufferedImage#TYPE_INT_ARGB} image.
+     */
+    static BufferedImage blit(int[] pixels, int width, int height, int newWidth, int newHeight) {
+        BufferedImage image = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB);
+        int[] dest = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int[] columns = sample(width, newWidth);
+        int[] rows = sample(height, newHeight);
+        int row = -1;
+        for (int y = 0; y < newHeight; y++) {
+            int source = rows[y];
+            int offset = y * newWidth;
+            if (source == row) {
+                // the same source row as the last, so the same pixels
+                System.arraycopy(dest, offset - newWidth, dest, offset, newWidth);
+                continue;
+            }
+            row = source;
+            int start = source * width;
+            for (int x = 0; x < newWidth; x++) {
+                int pixel = pixels[start + columns[x]];
+                dest[offset + x] = pixel >>> 24 == 0 ? 0 : pixel;
             }
         }
-        // scale up the image
-        int newWidth = (int) (this.image.getWidth() * this.scalar);
-        int newHeight = (int) (this.image.getHeight() * this.scalar);
-        BufferedImage newImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics graphics = newImage.getGraphics();
-        graphics.drawImage(this.image, 0, 0, newWidth, newHeight, null);
-        graphics.dispose();
-        this.image = newImage;
+        return image;
+    }
+
+    /**
+     * Gets the source pixel of every pixel along one side of the scaled image.
+     * <br />
+     * The source is stepped through in fixed point, with the step and its
+     * half, where sampling starts, both rounded down, which is what makes
+     * the pixels line up with java2d's.
+     *
+     * @param length    The length of the side.
+     * @param newLength The length of the side once scaled.
+     * @return The source pixel of each scaled pixel.
+     */
+    private static int[] sample(int length, int newLength) {
+        double scale = (double) length / newLength;
+        long step = (long) (scale * (1L << FIXED_POINT));
+        long start = (long) (scale / 2 * (1L << FIXED_POINT));
+        int[] sources = new int[newLength];
+        for (int i = 0; i < newLength; i++)
+            sources[i] = (int) ((start + i * step) >> FIXED_POINT);
+        return sources;
+    }
+
+    /**
+     * Renders the image from the given {@link IndexedTexture}.
+     * <br />
+     * Background removal and recoloring are applied to the palette
+     * only, and the scaled indices are shared with every other image
+     * of the same {@link Texture} and scale.
+     *
+     * @param indexed The indexed texture.
+     * @return A new {@link BufferedImage#TYPE_BYTE_INDEXED} image with the desired properties.
+     */
+    @Nonnull
+    private BufferedImage renderIndexed(IndexedTexture indexed) {
+        ColorModel model = indexed.getColorModel();
+        int[] lookup = createLookup(model);
+        int[] palette = indexed.getPalette();
+        for (int i = 0; i < palette.length; i++)
+            palette[i] = map(palette[i], lookup);
+        this.image = indexed.createImage(this.scalar, composite(palette, model));
         return this.image;
     }
 
+    /**
+     * Draws the given palette onto an empty image, the same as drawing
+     * the image it came from would draw each of its colors.
+     * <br />
+     * Blending a partly translucent color onto the empty image rounds it,
+     * and a fully translucent one is left empty, so the palette ends up
+     * with the exact colors the scaled image would have had.
+     *
+     * @param palette The palette, as ARGB colors.
+     * @param model   The color model of the image the palette came from.
+     * @return The drawn palette.
+     */
+    private static int[] composite(int[] palette, ColorModel model) {
+        BufferedImage source = new BufferedImage(model, model.createCompatibleWritableRaster(palette.length, 1),
+                model.isAlphaPremultiplied(), null);
+        source.setRGB(0, 0, palette.length, 1, palette, 0, palette.length);
+        BufferedImage drawn = new BufferedImage(palette.length, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = drawn.getGraphics();
+        graphics.drawImage(source, 0, 0, null);
+        graphics.dispose();
+        return ((DataBufferInt) drawn.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Creates the lookup table for background removal and recoloring.
+     * <br />
+     * The table is a flat array of {@code from, to} pairs. Each pair is
+     * resolved by running every {@link #BACKGROUND} and {@link #COLOR_SWATCH}
+     * replacement in order, so a pixel ends up with the same color it would
+     * have after doing one full pass over the image per replacement.
+     * <br />
+     * Replacement colors are passed through the source image's {@link ColorModel},
+     * as they would be if they were set on the source image. For example, the
+     * translucent background of an image without alpha ends up opaque.
+     *
+     * @param model The color model of the source image.
+     * @return The lookup table of {@code from, to} pairs.
+     */
+    private int[] createLookup(ColorModel model) {
+        int steps = (removeBg ? 1 : 0) + (color != null ? COLOR_SWATCH.length : 0);
+        int[] from = new int[steps];
+        int[] to = new int[steps];
+        int index = 0;
+        if (removeBg) {
+            from[index] = BACKGROUND.getRGB();
+            to[index++] = model.getRGB(model.getDataElements(TRANSLUCENT, null));
+        }
+        if (color != null) {
+            for (Color swatch : COLOR_SWATCH) {
+                int rgbAdjusted = adjustColor(swatch, this.color).getRGB();
+                from[index] = swatch.getRGB();
+                to[index++] = model.getRGB(model.getDataElements(rgbAdjusted, null));
+            }
+        }
+        int[] lookup = new int[steps * 2];
+        for (int i = 0; i < steps; i++) {
+            int rgb = from[i];
+            for (int j = 0; j < steps; j++) {
+                if (rgb == from[j])
+                    rgb = to[j];
+            }
+            lookup[i * 2] = from[i];
+            lookup[i * 2 + 1] = rgb;
+        }
+        return lookup;
+    }
+
+    /**
+     * Maps the given pixel through the given lookup table.
+     *
+     * @param rgb    The pixel.
+     * @param lookup The lookup table of {@code from, to} pairs.
+     * @return The mapped pixel, or the given pixel if it's not in the table.
+     */
+    private static int map(int rgb, int[] lookup) {
+        for (int i = 0; i < lookup.length; i += 2) {
+            if (lookup[i] == rgb)
+                return lookup[i + 1];
+        }
+        return rgb;
+    }
+
     /**
      * Adjusts the two given {@link Color}s.
      * <br />
@@ -214,4 +482,25 @@ public final class TexturePreprocessor {
         graphics2D.dispose();
         return image;
     }
-}
\ No newline at end of file
+
+    /**
+     * The key of a {@link #cached() cached} text image.
+     */
+    @EqualsAndHashCode
+    private static final class TextKey {
+
+        private final String text;
+        private final Color color;
+        private final double scalar;
+        private final double resolution;
+        private final boolean removeBg;
+
+        private TextKey(String text, Color color, double scalar, double resolution, boolean removeBg) {
+            this.text = text;
+            this.color = color;
+            this.scalar = scalar;
+            this.resolution = resolution;
+            this.removeBg = removeBg;
+        }
+    }
+}
@@ -1,28 +1,121 @@
 package dev.glitchedcoder.hangman.util;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import dev.glitchedcoder.hangman.json.Config;
 import dev.glitchedcoder.hangman.json.Word;
+import dev.glitchedcoder.hangman.word.Dictionary;
+import dev.glitchedcoder.hangman.word.WordSource;
+import dev.glitchedcoder.hangman.word.WordStore;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
-import org.apache.http.StatusLine;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Communicates with the word {@link Constants#API_URL API}.
+ * <br />
+ * Every request goes through a single shared, pooled {@link CloseableHttpClient},
+ * so connections are kept alive and reused rather than opened for every request.
+ * <br />
+ * The API has a 1-second ratelimit, so requests are passed through a
+ * {@link RateLimiter} that queues them up instead of hitting it. Requests
+ * that are ratelimited anyway, or fail because of the server or the connection,
+ * are retried with exponential backoff.
+ * <br />
+ * Every {@link #requestWord(int) word request} has to finish within
+ * {@link Constants#API_BUDGET}, including waiting for the ratelimit and any retries.
+ * If the API hasn't answered by the time most requests have, the same request is
+ * sent again alongside it, and whichever answers first is used. After enough
+ * requests fail in a row, a {@link CircuitBreaker} stops requests from being made
+ * for a while, so words come straight from the local sources instead.
+ */
 public final class ApiRequest {
 
     private static final int OK_STATUS = 200;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF = 500;
+    private static final long MAX_BACKOFF = TimeUnit.SECONDS.toMillis(4);
+    private static final int TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+    private static final int BREAKER_THRESHOLD = 3;
+    private static final long BREAKER_COOLDOWN = TimeUnit.SECONDS.toNanos(30);
+    private static final long MIN_HEDGE_DELAY = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(Constants.API_BUDGET);
+    private static final long KEY_CACHE_TIME = TimeUnit.DAYS.toMillis(1);
+
     private static final Random RANDOM = new Random();
     private static final Config CONFIG = Config.getConfig();
+    private static final CloseableHttpClient CLIENT;
+    private static final RequestConfig REQUEST_CONFIG;
+    private static final ExecutorService EXECUTOR;
+    private static final CircuitBreaker BREAKER = new CircuitBreaker(BREAKER_THRESHOLD, BREAKER_COOLDOWN, TimeUnit.NANOSECONDS);
+    private static final RateLimiter LIMITER = new RateLimiter(Constants.API_INTERVAL, TimeUnit.MILLISECONDS, 1);
+
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder RETRIES = new LongAdder();
+    private static final LongAdder ERRORS = new LongAdder();
+    private static final LongAdder THROTTLED = new LongAdder();
+    private static final LongAdder HEDGES = new LongAdder();
+    private static final LongAdder HEDGE_WINS = new LongAdder();
+    private static final LongAdder TIMEOUTS = new LongAdder();
+    private static final LatencyHistogram LATENCY = new LatencyHistogram();
+    // API keys found to be valid this session, and when
+    private static final Map<String, Long> VALID_KEYS = new ConcurrentHashMap<>();
+
+    static {
+        PoolingHttpClientConnectionManager connections = new PoolingHttpClientConnectionManager();
+        connections.setMaxTotal(4);
+        connections.setDefaultMaxPerRoute(4);
+        connections.setValidateAfterInactivity((int) TimeUnit.SECONDS.toMillis(2));
+        REQUEST_CONFIG = RequestConfig.custom()
+                .setConnectTimeout(TIMEOUT)
+                .setSocketTimeout(TIMEOUT)
+                .setConnectionRequestTimeout(TIMEOUT)
+                .build();
+        CLIENT = HttpClients.custom()
+                .setConnectionManager(connections)
+                .setDefaultRequestConfig(REQUEST_CONFIG)
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                // retrying is handled here, with backoff
+                .disableAutomaticRetries()
+                .build();
+        // a word request and its hedge each block a thread on the client
+        EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "Hangman API Request");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     private ApiRequest() {
     }
@@ -35,76 +128,268 @@ public final class ApiRequest {
      * over the web, so an internet connection is required in order
      * for this method to successfully execute/return a valid flag.
      * <br />
-     * In very rare circumstances, it may be possible for this
-     * method to return {@code false} even when the stored
-     * {@link Config#getApiKey() API key} is valid. This is due to
-     * a 1-second ratelimit by the API. This is also why it is best
-     * to use your own API key, as to not ratelimit others.
+     * This method blocks until the request is let through by the
+     * ratelimit, and for any retries, up to {@link Constants#API_BUDGET},
+     * so it should not be called from the game thread.
      *
      * @return True if the stored API key is valid, false otherwise.
+     * @see #checkApiKeyAsync()
      */
     public static boolean checkApiKey() {
-        try (CloseableHttpClient client = HttpClients.createDefault()) {
-            // build URI
-            URIBuilder builder = new URIBuilder(Constants.API_URL);
-            builder.addParameter("key", CONFIG.getApiKey());
-            // create & execute request
-            HttpGet get = new HttpGet(builder.build());
-            CloseableHttpResponse response = client.execute(get);
-            // get response
-            HttpEntity entity = response.getEntity();
-            StatusLine status = response.getStatusLine();
-            // clean up & return true/false based on status code
-            EntityUtils.consume(entity);
-            response.close();
-            return status.getStatusCode() == OK_STATUS;
+        return checkApiKey(CONFIG.getApiKey());
+    }
+
+    /**
+     * Checks if the currently stored
+     * {@link Config#getApiKey() API key} is valid, in the background.
+     * <br />
+     * An API key that was found to be valid within the last day is
+     * not checked again, and the returned {@link CompletableFuture}
+     * is already complete. Otherwise it completes once the API answers,
+     * or with {@code false} if it can't be reached.
+     * <br />
+     * Cancelling the returned {@link CompletableFuture} before the
+     * check has started stops it from being sent.
+     *
+     * @return A {@link CompletableFuture} of whether the stored API key is valid.
+     */
+    @Nonnull
+    public static CompletableFuture<Boolean> checkApiKeyAsync() {
+        String apiKey = CONFIG.getApiKey();
+        if (isApiKeyValidated(apiKey))
+            return CompletableFuture.completedFuture(true);
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            if (!future.isDone())
+                future.complete(checkApiKey(apiKey));
+        });
+        return future;
+    }
+
+    private static boolean isApiKeyValidated(String apiKey) {
+        long now = System.currentTimeMillis();
+        Long validated = VALID_KEYS.get(apiKey);
+        if (validated != null && now - validated < KEY_CACHE_TIME)
+            return true;
+        return apiKey.equals(CONFIG.getApiKey()) && now - CONFIG.getApiKeyValidated() < KEY_CACHE_TIME;
+    }
+
+    private static boolean checkApiKey(String apiKey) {
+        try {
+            URI uri = new URIBuilder(Constants.API_URL)
+                    .addParameter("key", apiKey)
+                    .build();
+            try (CloseableHttpResponse response = execute(uri, System.nanoTime() + BUDGET, false)) {
+                if (response == null)
+                    return false;
+                EntityUtils.consume(response.getEntity());
+                if (response.getStatusLine().getStatusCode() != OK_STATUS)
+                    return false;
+                long now = System.currentTimeMillis();
+                VALID_KEYS.put(apiKey, now);
+                // remembered across restarts, as long as the key isn't changed
+                if (apiKey.equals(CONFIG.getApiKey()))
+                    CONFIG.setApiKeyValidated(now);
+                return true;
+            }
         } catch (URISyntaxException | IOException e) {
+            ERRORS.increment();
             e.printStackTrace();
             return false;
         }
     }
 
     /**
-     * Requests a {@link Word} from the API.
+     * Requests a {@link Word} from the {@link Config#getWordSource() configured source}.
      * <br />
-     * This method communicates with the {@link Constants#API_URL API}
-     * over the web, so an internet connection is required in order
-     * for this method to successfully execute/return a valid {@link Word}.
+     * Depending on the {@link WordSource}, the {@link Word} is requested from
+     * the API, taken from the offline {@link Dictionary}, or requested from
+     * the API and taken from the {@link Dictionary} if that fails.
+     * <br />
+     * Every {@link Word} fetched from the API is kept in the {@link WordStore},
+     * and if the API fails, a {@link Word} not seen recently is taken from the
+     * {@link WordStore} before falling back to the {@link Dictionary}.
      * <br />
-     * In very rare circumstances, it may be possible for this
-     * method to return {@code null} even when the stored
-     * {@link Config#getApiKey() API key} is valid. This is due to
-     * a 1-second ratelimit by the API. This is also why it is best
-     * to use your own API key, as to not ratelimit others.
+     * When using the API, this method communicates with the {@link Constants#API_URL API}
+     * over the web, and blocks for up to {@link Constants#API_BUDGET},
+     * so it should not be called from the game thread.
      *
      * @param length The length of the word to request.
-     * @return A {@link Word} from the API, or rarely {@code null}.
+     * @return A {@link Word}, or {@code null} if none could be fetched.
      */
+    @Nullable
     public static Word requestWord(int length) {
-        Gson gson = Constants.GSON;
+        WordSource source = CONFIG.getWordSource();
+        Word word = null;
+        if (source.usesApi()) {
+            word = requestApiWord(length);
+            WordStore store = WordStore.getStore();
+            if (store != null) {
+                if (word != null)
+                    store.add(word);
+                else
+                    word = store.take(length);
+            }
+        }
+        if (word == null && source.usesDictionary()) {
+            Dictionary dictionary = Dictionary.getDictionary();
+            if (dictionary != null)
+                word = dictionary.randomWord(length);
+        }
+        return word;
+    }
+
+    /**
+     * Requests a {@link Word} from the API, within the {@link Constants#API_BUDGET budget},
+     * unless the {@link CircuitBreaker} is open.
+     *
+     * @param length The length of the word to request.
+     * @return A {@link Word} from the API, or {@code null} if none could be fetched.
+     */
+    @Nullable
+    private static Word requestApiWord(int length) {
         length = Validator.constrain(length, Constants.MIN_WORD_LENGTH, Constants.MAX_WORD_LENGTH);
-        try (CloseableHttpClient client = HttpClients.createDefault()) {
-            // build URI
-            URIBuilder builder = new URIBuilder(Constants.API_URL);
-            builder.addParameter("key", CONFIG.getApiKey());
-            builder.addParameter("length", String.valueOf(length));
-            // create & execute request
-            HttpGet get = new HttpGet(builder.build());
-            CloseableHttpResponse response = client.execute(get);
-            // get the content from the reponse & parse using GSON
-            InputStream in = response.getEntity().getContent();
-            InputStreamReader reader = new InputStreamReader(in);
-            Word word = gson.fromJson(reader, Word.class);
-            // clean up & return the parsed response
-            EntityUtils.consume(response.getEntity());
-            response.close();
-            return word;
-        } catch (URISyntaxException | IOException e) {
+        if (!BREAKER.tryAcquire())
+            return null;
+        Word word = null;
+        try {
+            URI uri = new URIBuilder(Constants.API_URL)
+                    .addParameter("key", CONFIG.getApiKey())
+                    .addParameter("length", String.valueOf(length))
+                    .build();
+            word = requestHedged(uri, System.nanoTime() + BUDGET);
+        } catch (URISyntaxException e) {
+            ERRORS.increment();
+            e.printStackTrace();
+        } finally {
+            if (word != null)
+                BREAKER.onSuccess();
+            else
+                BREAKER.onFailure();
+        }
+        return word;
+    }
+
+    /**
+     * Requests a {@link Word} from the given {@link URI}, sending the request
+     * a second time if the first hasn't answered within the {@link #getHedgeDelay() hedge delay}.
+     * <br />
+     * The second request is only sent if the {@link RateLimiter} lets it through
+     * with at least the hedge delay left before the deadline, since it could not
+     * answer in time otherwise.
+     * <br />
+     * Whichever request returns a {@link Word} first is used,
+     * and the other is left to finish on its own.
+     *
+     * @param uri      The URI to request.
+     * @param deadline The {@link System#nanoTime()} to give up at.
+     * @return A {@link Word}, or {@code null} if neither request returned one in time.
+     */
+    @Nullable
+    private static Word requestHedged(URI uri, long deadline) {
+        CompletableFuture<Word> result = new CompletableFuture<>();
+        // the requests still running, so the result is only null once both failed
+        AtomicInteger running = new AtomicInteger(1);
+        EXECUTOR.execute(() -> fetch(uri, deadline, result, running, false));
+        long delay = getHedgeDelay();
+        try {
+            try {
+                return result.get(Math.min(delay, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // the first request is slow, so send another unless it has just failed
+                if (running.getAndUpdate(count -> count == 0 ? 0 : count + 1) > 0)
+                    EXECUTOR.execute(() -> hedge(uri, deadline, delay, result, running));
+            }
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            TIMEOUTS.increment();
+            ERRORS.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private static void hedge(URI uri, long deadline, long delay, CompletableFuture<Word> result, AtomicInteger running) {
+        long wait = -1;
+        try {
+            wait = LIMITER.tryAcquire(deadline - delay - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (wait < 0) {
+            // no token in time to be of use, so leave it to the first request
+            if (running.decrementAndGet() == 0)
+                result.complete(null);
+            return;
+        }
+        if (wait > 0)
+            THROTTLED.increment();
+        HEDGES.increment();
+        fetch(uri, deadline, result, running, true);
+    }
+
+    private static void fetch(URI uri, long deadline, CompletableFuture<Word> result, AtomicInteger running, boolean hedge) {
+        Word word = null;
+        try {
+            // a hedge has already taken its token from the ratelimit
+            word = fetch(uri, deadline, hedge);
+        } finally {
+            if (word != null) {
+                if (result.complete(word) && hedge)
+                    HEDGE_WINS.increment();
+            } else if (running.decrementAndGet() == 0)
+                result.complete(null);
+        }
+    }
+
+    @Nullable
+    private static Word fetch(URI uri, long deadline, boolean acquired) {
+        try (CloseableHttpResponse response = execute(uri, deadline, acquired)) {
+            if (response == null)
+                return null;
+            HttpEntity entity = response.getEntity();
+            if (response.getStatusLine().getStatusCode() != OK_STATUS) {
+                EntityUtils.consume(entity);
+                ERRORS.increment();
+                return null;
+            }
+            Word word;
+            try (Reader reader = new InputStreamReader(entity.getContent(), StandardCharsets.UTF_8)) {
+                word = Constants.GSON.fromJson(reader, Word.class);
+            }
+            if (word == null || word.getWord() == null) {
+                ERRORS.increment();
+                return null;
+            }
+            // the game only has letters to guess with
+            String string = word.getWord().toLowerCase(Locale.ROOT);
+            if (string.isEmpty() || !string.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                ERRORS.increment();
+                return null;
+            }
+            return new Word(string);
+        } catch (IOException | JsonParseException e) {
+            ERRORS.increment();
             e.printStackTrace();
             return null;
         }
     }
 
+    /**
+     * Gets how long to wait for the API before sending a request again.
+     * <br />
+     * This is how long 90% of requests take, so only the slowest are sent twice.
+     *
+     * @return The hedge delay, in nanoseconds.
+     */
+    private static long getHedgeDelay() {
+        long delay = LATENCY.getCount() == 0 ? BUDGET / 2 : LATENCY.getPercentile(90);
+        return Math.max(MIN_HEDGE_DELAY, Math.min(BUDGET / 2, delay));
+    }
+
     /**
      * Gets a random word length between
      * {@link Constants#MIN_WORD_LENGTH} and
@@ -115,4 +400,202 @@ public final class ApiRequest {
     public static int randomWordLength() {
         return RANDOM.nextInt(Constants.MAX_WORD_LENGTH - Constants.MIN_WORD_LENGTH) + Constants.MIN_WORD_LENGTH;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the {@link CircuitBreaker} in front of word requests,
+     * which tracks how often it opened, half-opened and closed.
+     *
+     * @return The circuit breaker.
+     */
+    @Nonnull
+    public static CircuitBreaker getBreaker() {
+        return BREAKER;
+    }
+
+    /**
+     * Gets the amount of word requests that were sent a second time because the API was slow.
+     *
+     * @return The amount of hedged requests.
+     */
+    public static long getHedges() {
+        return HEDGES.sum();
+    }
+
+    /**
+     * Gets the amount of hedged word requests where the second request answered first.
+     *
+     * @return The amount of hedged requests won by the second request.
+     */
+    public static long getHedgeWins() {
+        return HEDGE_WINS.sum();
+    }
+
+    /**
+     * Gets the amount of word requests that ran out of {@link Constants#API_BUDGET budget}.
+     *
+     * @return The amount of requests that timed out.
+     */
+    public static long getTimeouts() {
+        return TIMEOUTS.sum();
+    }
+
+    /**
+     * Gets how long each request to the API took, including retries but not time spent ratelimited.
+     * <br />
+     * Requests that never got a response from the API are not recorded.
+     *
+     * @return The request latency histogram.
+     */
+    @Nonnull
+    public static LatencyHistogram getLatency() {
+        return LATENCY;
+    }
+
+    /**
+     * Gets the amount of requests made to the API, not counting retries.
+     *
+     * @return The amount of requests.
+     */
+    public static long getRequests() {
+        return REQUESTS.sum();
+    }
+
+    /**
+     * Gets the amount of times a request to the API was retried.
+     *
+     * @return The amount of retries.
+     */
+    public static long getRetries() {
+        return RETRIES.sum();
+    }
+
+    /**
+     * Gets the amount of requests to the API that ultimately failed.
+     *
+     * @return The amount of failed requests.
+     */
+    public static long getErrors() {
+        return ERRORS.sum();
+    }
+
+    /**
+     * Gets the amount of requests that had to wait for the ratelimit.
+     *
+     * @return The amount of requests that waited.
+     */
+    public static long getThrottled() {
+        return THROTTLED.sum();
+    }
+
+    /**
+     * Sends a GET request to the given {@link URI}, retrying with backoff if
+     * the API ratelimits the request, fails with a server error, or cannot be reached.
+     * <br />
+     * Each attempt first waits for the {@link RateLimiter}. Attempts that
+     * could not finish before the deadline are not made, and the last
+     * response or error is returned instead.
+     * <br />
+     * How long the attempts took is only {@link #getLatency() recorded}
+     * if the API answered at least one of them.
+     *
+     * @param uri      The URI to request.
+     * @param deadline The {@link System#nanoTime()} to give up at.
+     * @param acquired True if a token was already taken from the {@link RateLimiter} for the first attempt.
+     * @return The response, which must be closed, or {@code null} if interrupted
+     *         or the ratelimit would not let the request through before the deadline.
+     * @throws IOException Thrown if the last attempt could not reach the API.
+     */
+    @Nullable
+    static CloseableHttpResponse execute(URI uri, long deadline, boolean acquired) throws IOException {
+        REQUESTS.increment();
+        long time = 0;
+        boolean answered = false;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                if (attempt > 1 || !acquired) {
+                    long wait = LIMITER.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (wait < 0) {
+                        ERRORS.increment();
+                        return null;
+                    }
+                    if (wait > 0)
+                        THROTTLED.increment();
+                }
+                long start = System.nanoTime();
+                HttpGet request = new HttpGet(uri);
+                int timeout = (int) Math.max(1, Math.min(TIMEOUT, TimeUnit.NANOSECONDS.toMillis(deadline - start)));
+                request.setConfig(RequestConfig.copy(REQUEST_CONFIG)
+                        .setConnectTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .setConnectionRequestTimeout(timeout)
+                        .build());
+                CloseableHttpResponse response = null;
+                IOException error = null;
+                try {
+                    response = CLIENT.execute(request);
+                } catch (IOException e) {
+                    error = e;
+                }
+                time += System.nanoTime() - start;
+                long backoff = getBackoff(attempt);
+                if (response != null) {
+                    answered = true;
+                    int status = response.getStatusLine().getStatusCode();
+                    boolean retry = status == TOO_MANY_REQUESTS || status >= SERVER_ERROR;
+                    long retryAfter = getRetryAfter(response);
+                    if (retryAfter > 0)
+                        backoff = retryAfter;
+                    if (!retry || !canRetry(attempt, backoff, deadline))
+                        return response;
+                    EntityUtils.consume(response.getEntity());
+                    response.close();
+                } else if (!canRetry(attempt, backoff, deadline))
+                    throw error;
+                RETRIES.increment();
+                Thread.sleep(backoff);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ERRORS.increment();
+            return null;
+        } finally {
+            // rejected or interrupted attempts would only pull the hedge delay down
+            if (answered)
+                LATENCY.record(time);
+        }
+    }
+
+    private static boolean canRetry(int attempt, long backoff, long deadline) {
+        return attempt < MAX_ATTEMPTS && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) < deadline;
+    }
+
+    /**
+     * Gets how long to wait before the next attempt, doubling with
+     * every attempt, with some randomness so retries don't line up.
+     *
+     * @param attempt The attempt that failed, starting at 1.
+     * @return The backoff in milliseconds.
+     */
+    private static long getBackoff(int attempt) {
+        long backoff = Math.min(MAX_BACKOFF, BASE_BACKOFF << (attempt - 1));
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * Gets how long the API asked to wait through the {@code Retry-After} header.
+     *
+     * @param response The response.
+     * @return The wait in milliseconds, or {@code 0} if not given.
+     */
+    private static long getRetryAfter(CloseableHttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (header == null)
+            return 0;
+        try {
+            long seconds = Long.parseLong(header.getValue().trim());
+            return Math.min(MAX_BACKOFF, TimeUnit.SECONDS.toMillis(Math.max(0, seconds)));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package dev.glitchedcoder.hangman.util;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stops calling something that keeps failing, so callers fail fast instead of waiting on it.
+ * <br />
+ * The breaker starts {@link State#CLOSED}, letting every call through. After
+ * enough failures in a row it {@link State#OPEN opens}, and every call is turned
+ * away until the cooldown has passed. It then {@link State#HALF_OPEN half-opens},
+ * letting a single trial call through: if it succeeds the breaker closes again,
+ * otherwise it opens for another cooldown.
+ * <br />
+ * Every caller let through must report back with
+ * {@link #onSuccess()} or {@link #onFailure()}.
+ */
+public final class CircuitBreaker {
+
+    private State state;
+    private int failures;
+    private long openedAt;
+
+    private final int threshold;
+    private final long cooldown;
+    private final LongAdder rejected;
+    private final LongAdder[] transitions;
+
+    /**
+     * Creates a {@link CircuitBreaker}.
+     *
+     * @param threshold The amount of failures in a row that open the breaker.
+     * @param cooldown  How long the breaker stays open before a trial call.
+     * @param unit      The unit of the cooldown.
+     * @throws IllegalArgumentException Thrown if the threshold or cooldown is {@code <= 0}.
+     */
+    public CircuitBreaker(int threshold, long cooldown, TimeUnit unit) {
+        Validator.requireNotNull(unit, "Given unit is null!");
+        Validator.checkArgument(threshold > 0, "Given threshold {} <= 0.", threshold);
+        Validator.checkArgument(cooldown > 0, "Given cooldown {} <= 0.", cooldown);
+        this.threshold = threshold;
+        this.cooldown = unit.toNanos(cooldown);
+        this.state = State.CLOSED;
+        this.rejected = new LongAdder();
+        this.transitions = new LongAdder[State.values.length];
+        for (int i = 0; i < transitions.length; i++)
+            this.transitions[i] = new LongAdder();
+    }
+
+    /**
+     * Gets whether a call may go through.
+     * <br />
+     * Half-opens the breaker if it has been open for the cooldown.
+     *
+     * @return True if the call may go through, false if it should fail fast.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= cooldown)
+            transition(State.HALF_OPEN);
+        else if (state != State.CLOSED) {
+            // while half-open, the trial call is still running
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reports that a call that went through succeeded.
+     */
+    public synchronized void onSuccess() {
+        this.failures = 0;
+        if (state != State.CLOSED)
+            transition(State.CLOSED);
+    }
+
+    /**
+     * Reports that a call that went through failed.
+     */
+    public synchronized void onFailure() {
+        this.failures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= threshold)) {
+            this.openedAt = System.nanoTime();
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * Gets the current {@link State}.
+     * <br />
+     * An open breaker whose cooldown has passed is
+     * still open until the next call goes through.
+     *
+     * @return The current state.
+     */
+    @Nonnull
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Gets how many times the breaker moved into the given {@link State}.
+     *
+     * @param state The state.
+     * @return The amount of transitions into the state.
+     */
+    public long getTransitions(@Nonnull State state) {
+        Validator.requireNotNull(state, "Given state is null!");
+        return transitions[state.ordinal()].sum();
+    }
+
+    /**
+     * Gets how many calls were turned away.
+     *
+     * @return The amount of calls that failed fast.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void transition(State state) {
+        this.state = state;
+        transitions[state.ordinal()].increment();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return Validator.format("CircuitBreaker[state={}, opened={}, half-opened={}, closed={}, rejected={}]",
+                state, getTransitions(State.OPEN), getTransitions(State.HALF_OPEN),
+                getTransitions(State.CLOSED), getRejected());
+    }
+
+    /**
+     * The state of a {@link CircuitBreaker}.
+     */
+    public enum State {
+
+        /**
+         * Every call goes through.
+         */
+        CLOSED("CLOSED"),
+        /**
+         * Every call is turned away.
+         */
+        OPEN("OPEN"),
+        /**
+         * A single trial call goes through.
+         */
+        HALF_OPEN("HALF-OPEN");
+
+        public static final State[] values = values();
+
+        private final String name;
+
+        State(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -15,13 +15,21 @@ public final class Constants {
     public static final Gson GSON;
     public static final String SCRIPT;
     public static final String API_URL;
+    public static final long API_INTERVAL;
+    public static final long API_BUDGET;
     public static final File CONFIG_FILE;
     public static final File APPDATA_DIR;
     public static final byte MIN_WORD_LENGTH;
     public static final byte MAX_WORD_LENGTH;
     public static final List<String> UNIX_ARGS;
+    public static final int TICK_RATE;
+    public static final int RENDER_RATE;
+    public static final boolean RENDER_THREAD;
+    public static final boolean DEBUG_DIRTY_REGIONS;
     public static final String VERSION = "1.1.0";
     public static final List<String> WINDOWS_ARGS;
+    public static final long TEXT_CACHE_BUDGET;
+    public static final long TEXTURE_CACHE_BUDGET;
     public static final String TITLE = "Hanged Men";
 
     static {
@@ -42,7 +50,11 @@ public final class Constants {
                 .setPrettyPrinting()
                 .setLenient()
                 .create();
-        API_URL = "https://clemsonhackman.com/api/word";
+        API_URL = System.getProperty("hangman.apiUrl", "https://clemsonhackman.com/api/word");
+        // the API allows a single request per second
+        API_INTERVAL = Math.max(1, Long.getLong("hangman.apiInterval", 1000));
+        // enough for a request, a hedged request after the ratelimit, and a retry
+        API_BUDGET = Math.max(API_INTERVAL, Long.getLong("hangman.apiBudget", 3000));
         File jar = null;
         try {
             jar = new File(Hangman.class
@@ -64,8 +76,22 @@ public final class Constants {
                 "&&", "java", "-jar", JAR.getAbsolutePath()
         );
         SCRIPT = "/script/script.json";
+        TEXTURE_CACHE_BUDGET = getBudget("hangman.textureCacheBudget", 8L * 1024 * 1024);
+        TEXT_CACHE_BUDGET = getBudget("hangman.textCacheBudget", 32L * 1024 * 1024);
+        DEBUG_DIRTY_REGIONS = Boolean.getBoolean("hangman.debugDirtyRegions");
+        RENDER_THREAD = Boolean.getBoolean("hangman.renderThread");
+        // the tick count passed to scenes is a byte, and everything is tuned for 10 ticks per second
+        TICK_RATE = Validator.constrain(Integer.getInteger("hangman.tickRate", 10), 1, Byte.MAX_VALUE);
+        // 0 draws once per tick, or once per refresh of the display with a separate render thread
+        RENDER_RATE = Validator.constrain(Integer.getInteger("hangman.renderRate", 0), 0, 1000);
     }
 
     private Constants() {
     }
+
+    // a cache can't be created without any budget, so a non-positive one falls back to the default
+    private static long getBudget(String property, long def) {
+        long budget = Long.getLong(property, def);
+        return budget > 0 ? budget : def;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package dev.glitchedcoder.hangman.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, lock-free histogram of latencies.
+ * <br />
+ * Latencies are bucketed by powers of two of microseconds, with
+ * each power of two split into {@link #SUB_BUCKETS} linear buckets,
+ * so any {@link #getPercentile(double) percentile} is accurate to
+ * within roughly 12%. Recording never allocates or blocks, so it is
+ * safe to do from the game thread every frame.
+ */
+public final class LatencyHistogram {
+
+    private final AtomicLong max;
+    private final AtomicLong sum;
+    private final AtomicLong count;
+    private final AtomicLongArray buckets;
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    public LatencyHistogram() {
+        this.max = new AtomicLong();
+        this.sum = new AtomicLong();
+        this.count = new AtomicLong();
+        this.buckets = new AtomicLongArray(Long.SIZE * SUB_BUCKETS);
+    }
+
+    /**
+     * Records the given latency.
+     * <br />
+     * Negative latencies are recorded as zero.
+     *
+     * @param nanos The latency, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(TimeUnit.NANOSECONDS.toMicros(value)));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Gets the latency that the given fraction of all recorded latencies are at or below.
+     * <br />
+     * The returned latency is the upper bound of the bucket the percentile falls into.
+     *
+     * @param percentile The percentile, from {@code 0} to {@code 100}.
+     * @return The latency at the percentile, in nanoseconds, or {@code 0} if nothing was recorded.
+     * @throws IllegalArgumentException Thrown if the percentile is not within {@code [0, 100]}.
+     */
+    public long getPercentile(double percentile) {
+        Validator.checkArgument(percentile >= 0 && percentile <= 100, "Invalid percentile {}.", percentile);
+        long total = count.get();
+        if (total == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target)
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(upperBoundOf(i)), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Gets the amount of latencies recorded.
+     *
+     * @return The amount of latencies recorded.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the mean of all recorded latencies.
+     *
+     * @return The mean latency, in nanoseconds, or {@code 0} if nothing was recorded.
+     */
+    public long getMean() {
+        long total = count.get();
+        return total == 0 ? 0 : sum.get() / total;
+    }
+
+    /**
+     * Gets the highest recorded latency.
+     *
+     * @return The highest latency, in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Forgets every recorded latency.
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++)
+            buckets.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return Validator.format("LatencyHistogram[count={}, mean={}us, p50={}us, p99={}us, max={}us]",
+                getCount(), toMicros(getMean()), toMicros(getPercentile(50)),
+                toMicros(getPercentile(99)), toMicros(getMax()));
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS)
+            return (int) micros;
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS)
+            return index + 1;
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return (1L << magnitude) + (sub + 1) * width;
+    }
+}
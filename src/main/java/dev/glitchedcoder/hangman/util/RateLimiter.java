@@ -0,0 +1,80 @@
+package dev.glitchedcoder.hangman.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket that limits how often something may happen.
+ * <br />
+ * Tokens are added at a fixed rate, up to the size of the bucket,
+ * and each {@link #tryAcquire(long, TimeUnit)} takes one. When the bucket
+ * is empty, the next token is reserved and waited for, so callers are let
+ * through one after another in the order they arrived rather than all at
+ * once when a token frees up.
+ */
+public final class RateLimiter {
+
+    private double tokens;
+    private long lastRefill;
+
+    private final int burst;
+    private final long interval;
+
+    /**
+     * Creates a {@link RateLimiter}.
+     *
+     * @param interval The time between each token.
+     * @param unit     The unit of the interval.
+     * @param burst    The most tokens that can build up while unused.
+     * @throws IllegalArgumentException Thrown if the interval or burst is {@code <= 0}.
+     */
+    public RateLimiter(long interval, TimeUnit unit, int burst) {
+        Validator.requireNotNull(unit, "Given unit is null!");
+        Validator.checkArgument(interval > 0, "Given interval {} <= 0.", interval);
+        Validator.checkArgument(burst > 0, "Given burst {} <= 0.", burst);
+        this.interval = unit.toNanos(interval);
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes a token if one is available within the given timeout, waiting for it.
+     * <br />
+     * If the token would not be available in time,
+     * no token is taken and this returns immediately.
+     *
+     * @param timeout The longest to wait for a token.
+     * @param unit    The unit of the timeout.
+     * @return How long was waited, in nanoseconds, or {@code -1} if no token was taken.
+     * @throws InterruptedException Thrown if interrupted while waiting.
+     *                              The reserved token is not given back.
+     */
+    public long tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        Validator.requireNotNull(unit, "Given unit is null!");
+        long wait;
+        synchronized (this) {
+            wait = reserve(unit.toNanos(timeout));
+        }
+        if (wait > 0)
+            TimeUnit.NANOSECONDS.sleep(wait);
+        return wait;
+    }
+
+    /**
+     * Reserves the next token if it is available within the given timeout.
+     *
+     * @param timeout The longest wait allowed, in nanoseconds.
+     * @return The wait for the reserved token, or {@code -1} if none was reserved.
+     */
+    private long reserve(long timeout) {
+        long now = System.nanoTime();
+        this.tokens = Math.min(burst, tokens + (double) (now - lastRefill) / interval);
+        this.lastRefill = now;
+        // below zero, the tokens are reservations of callers still waiting
+        long wait = tokens >= 1 ? 0 : (long) ((1 - tokens) * interval);
+        if (wait > timeout)
+            return -1;
+        this.tokens--;
+        return wait;
+    }
+}
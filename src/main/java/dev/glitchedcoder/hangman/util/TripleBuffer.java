@@ -0,0 +1,98 @@
+package dev.glitchedcoder.hangman.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands the latest of a series of buffers from one thread to another without locks.
+ * <br />
+ * Of the three buffers, the writer always owns the back buffer and
+ * the reader always owns the front buffer, while the third is swapped
+ * between them with a single atomic exchange. The writer never waits
+ * for the reader and vice versa: if the writer publishes faster than
+ * the reader reads, the unread buffer is simply written over.
+ * <br />
+ * Since the buffers are reused, each side must only touch the buffer
+ * it currently owns, and must not hold onto it past the next swap.
+ *
+ * @param <T> The type of buffer.
+ */
+public final class TripleBuffer<T> {
+
+    private int back;
+    private int front;
+
+    private final Object[] buffers;
+    private final AtomicInteger middle;
+
+    private static final int INDEX = 0b011;
+    private static final int FRESH = 0b100;
+
+    public TripleBuffer(@Nonnull Supplier<T> factory) {
+        Validator.requireNotNull(factory, "Given factory is null!");
+        this.buffers = new Object[] {factory.get(), factory.get(), factory.get()};
+        this.front = 0;
+        this.middle = new AtomicInteger(1);
+        this.back = 2;
+    }
+
+    /**
+     * Gets the buffer the writer should write the next value into.
+     * <br />
+     * Must only be called from the writing thread.
+     *
+     * @return The back buffer.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public T getBack() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Publishes the back buffer, making it the latest buffer for the reader.
+     * <br />
+     * Must only be called from the writing thread. The writer
+     * is then given a new {@link #getBack() back buffer}.
+     *
+     * @return True if the previously published buffer was never read and
+     *         is now the back buffer again, false otherwise.
+     */
+    public boolean publish() {
+        int old = middle.getAndSet(back | FRESH);
+        this.back = old & INDEX;
+        return (old & FRESH) != 0;
+    }
+
+    /**
+     * Takes the latest published buffer, if one was published since the last call.
+     * <br />
+     * Must only be called from the reading thread. The returned buffer
+     * becomes the {@link #getFront() front buffer}.
+     *
+     * @return The latest buffer, or {@code null} if nothing new was published.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if ((middle.get() & FRESH) == 0)
+            return null;
+        this.front = middle.getAndSet(front) & INDEX;
+        return (T) buffers[front];
+    }
+
+    /**
+     * Gets the buffer the reader last {@link #poll() took}.
+     * <br />
+     * Must only be called from the reading thread.
+     *
+     * @return The front buffer.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public T getFront() {
+        return (T) buffers[front];
+    }
+}
@@ -0,0 +1,142 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The union of every area of a {@link Scene} that needs to be redrawn.
+ * <br />
+ * Added {@link Rectangle}s are clipped to the bounds of the region,
+ * and overlapping {@link Rectangle}s are merged into their union so
+ * no pixel is repainted twice in the same frame. Once the region
+ * holds too many {@link Rectangle}s, they are collapsed into one.
+ */
+public final class DirtyRegion {
+
+    private boolean full;
+    private Rectangle bounds;
+
+    private final List<Rectangle> rectangles;
+
+    private static final byte MAX_RECTANGLES = 16;
+
+    public DirtyRegion(int width, int height) {
+        this.bounds = new Rectangle(width, height);
+        this.rectangles = new ArrayList<>();
+    }
+
+    /**
+     * Adds the given {@link Rectangle} to the region.
+     * <br />
+     * Does nothing if the given {@link Rectangle} is {@code null}
+     * or does not intersect the bounds of the region.
+     *
+     * @param rectangle The area to redraw.
+     */
+    public void add(@Nullable Rectangle rectangle) {
+        if (full || rectangle == null)
+            return;
+        Rectangle clipped = rectangle.intersection(bounds);
+        if (clipped.isEmpty())
+            return;
+        // merge with every rectangle it overlaps, until it overlaps none
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < rectangles.size(); i++) {
+                Rectangle r = rectangles.get(i);
+                if (r.contains(clipped))
+                    return;
+                if (!r.intersects(clipped))
+                    continue;
+                clipped = clipped.union(r);
+                rectangles.remove(i);
+                merged = true;
+                break;
+            }
+        }
+        rectangles.add(clipped);
+        if (rectangles.size() > MAX_RECTANGLES) {
+            Rectangle union = rectangles.get(0);
+            for (Rectangle r : rectangles)
+                union = union.union(r);
+            rectangles.clear();
+            rectangles.add(union);
+        }
+    }
+
+    /**
+     * Marks the whole region as dirty.
+     */
+    public void addAll() {
+        rectangles.clear();
+        rectangles.add(new Rectangle(bounds));
+        this.full = true;
+    }
+
+    /**
+     * Empties the region.
+     */
+    public void clear() {
+        rectangles.clear();
+        this.full = false;
+    }
+
+    /**
+     * Empties the region and sets its bounds.
+     *
+     * @param width  The width of the region.
+     * @param height The height of the region.
+     */
+    public void reset(int width, int height) {
+        Validator.checkArgument(width >= 0 && height >= 0, "Invalid region size {}x{}.", width, height);
+        this.bounds = new Rectangle(width, height);
+        clear();
+    }
+
+    /**
+     * Gets whether nothing needs to be redrawn.
+     *
+     * @return True if the region is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return rectangles.isEmpty();
+    }
+
+    /**
+     * Gets whether the whole region needs to be redrawn.
+     *
+     * @return True if the whole region is dirty, false otherwise.
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Gets the non-overlapping {@link Rectangle}s that need to be redrawn.
+     *
+     * @return An immutable view of the dirty {@link Rectangle}s.
+     */
+    @Nonnull
+    public List<Rectangle> getRectangles() {
+        return Collections.unmodifiableList(rectangles);
+    }
+
+    /**
+     * Gets the amount of pixels that need to be redrawn.
+     *
+     * @return The total area of the dirty {@link Rectangle}s.
+     */
+    public long getArea() {
+        long area = 0;
+        for (Rectangle r : rectangles)
+            area += (long) r.width * r.height;
+        return area;
+    }
+}
@@ -0,0 +1,217 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.entity.Renderable;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * A recording of everything a {@link Renderable} draws in a single frame.
+ * <br />
+ * Used when the {@link Scene} is drawn on a separate render thread:
+ * the simulation thread has each {@link Renderable} {@link Renderable#record(DrawList) record}
+ * what it would draw, and the render thread then replays the recording
+ * without ever touching the {@link Renderable} itself.
+ * <br />
+ * Only references to images and colors are recorded, so any image
+ * recorded must never be modified afterwards.
+ */
+public final class DrawList {
+
+    private int size;
+    private boolean live;
+    private boolean unbounded;
+    private Renderable renderable;
+    private Object[] targets;
+    private int[] areas;
+
+    private final Rectangle bounds;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    DrawList() {
+        this.targets = new Object[INITIAL_CAPACITY];
+        this.areas = new int[INITIAL_CAPACITY * 4];
+        this.bounds = new Rectangle();
+    }
+
+    /**
+     * Records the given image being drawn at the given location.
+     * <br />
+     * Does nothing if the given image is {@code null},
+     * the same as {@link Graphics2D#drawImage(java.awt.Image, int, int, java.awt.image.ImageObserver)}.
+     *
+     * @param image The image to draw.
+     * @param x     The x coordinate of the image.
+     * @param y     The y coordinate of the image.
+     */
+    public void image(@Nullable BufferedImage image, int x, int y) {
+        if (image == null)
+            return;
+        add(image, x, y, image.getWidth(), image.getHeight());
+    }
+
+    /**
+     * Records the given area being filled with the given {@link Color}.
+     *
+     * @param color The color to fill with.
+     * @param area  The area to fill.
+     */
+    public void fill(@Nonnull Color color, @Nonnull Rectangle area) {
+        Validator.requireNotNull(color, "Given color is null!");
+        Validator.requireNotNull(area, "Given area is null!");
+        add(color, area.x, area.y, area.width, area.height);
+    }
+
+    /**
+     * Clears the recording and starts recording the given {@link Renderable}.
+     *
+     * @param renderable The renderable being recorded.
+     */
+    void reset(@Nonnull Renderable renderable) {
+        Arrays.fill(targets, 0, size, null);
+        this.size = 0;
+        this.live = false;
+        this.unbounded = false;
+        this.renderable = renderable;
+        this.bounds.setBounds(0, 0, 0, 0);
+    }
+
+    /**
+     * Marks the {@link Renderable} as unable to be recorded, meaning it
+     * is {@link Renderable#draw(Graphics2D) drawn} directly when replayed.
+     *
+     * @param bounds The draw bounds of the {@link Renderable}, or {@code null} if unknown.
+     */
+    void live(@Nullable Rectangle bounds) {
+        this.live = true;
+        if (bounds == null)
+            this.unbounded = true;
+        else
+            this.bounds.setBounds(bounds);
+    }
+
+    /**
+     * Draws everything recorded.
+     *
+     * @param graphics The graphics object to draw with.
+     */
+    void replay(@Nonnull Graphics2D graphics) {
+        if (live) {
+            renderable.draw(graphics);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            int offset = i * 4;
+            Object target = targets[i];
+            if (target instanceof BufferedImage) {
+                graphics.drawImage((BufferedImage) target, areas[offset], areas[offset + 1], null);
+            } else {
+                graphics.setColor((Color) target);
+                graphics.fillRect(areas[offset], areas[offset + 1], areas[offset + 2], areas[offset + 3]);
+            }
+        }
+    }
+
+    /**
+     * Gets whether the given recording draws exactly the same as this one.
+     * <br />
+     * Images are compared by reference, and colors by value.
+     *
+     * @param other The other recording.
+     * @return True if both recordings draw the same, false otherwise.
+     */
+    boolean sameAs(@Nonnull DrawList other) {
+        if (live || other.live || size != other.size)
+            return false;
+        for (int i = 0; i < size; i++) {
+            Object target = targets[i];
+            boolean same = target instanceof BufferedImage ? target == other.targets[i] : target.equals(other.targets[i]);
+            if (!same)
+                return false;
+        }
+        return Arrays.equals(areas, 0, size * 4, other.areas, 0, size * 4);
+    }
+
+    /**
+     * Replaces this recording with a copy of the given recording.
+     *
+     * @param other The recording to copy.
+     */
+    void copyFrom(@Nonnull DrawList other) {
+        reset(other.renderable);
+        ensureCapacity(other.size);
+        System.arraycopy(other.targets, 0, targets, 0, other.size);
+        System.arraycopy(other.areas, 0, areas, 0, other.size * 4);
+        this.size = other.size;
+        this.live = other.live;
+        this.unbounded = other.unbounded;
+        this.bounds.setBounds(other.bounds);
+    }
+
+    @Nonnull
+    Renderable getRenderable() {
+        return renderable;
+    }
+
+    /**
+     * Gets whether the {@link Renderable} is drawn directly rather than replayed.
+     *
+     * @return True if the {@link Renderable} could not be recorded, false otherwise.
+     */
+    boolean isLive() {
+        return live;
+    }
+
+    /**
+     * Gets whether the area drawn to is unknown, meaning anything could be drawn to.
+     *
+     * @return True if the area drawn to is unknown, false otherwise.
+     */
+    boolean isUnbounded() {
+        return unbounded;
+    }
+
+    /**
+     * Gets the union of every area drawn to.
+     * <br />
+     * The returned {@link Rectangle} is reused and should not be modified.
+     *
+     * @return The area drawn to, which is empty if nothing was recorded.
+     */
+    @Nonnull
+    Rectangle getBounds() {
+        return bounds;
+    }
+
+    private void add(Object target, int x, int y, int width, int height) {
+        ensureCapacity(size + 1);
+        int offset = size * 4;
+        targets[size] = target;
+        areas[offset] = x;
+        areas[offset + 1] = y;
+        areas[offset + 2] = width;
+        areas[offset + 3] = height;
+        if (size == 0)
+            bounds.setBounds(x, y, width, height);
+        else {
+            bounds.add(x, y);
+            bounds.add(x + width, y + height);
+        }
+        this.size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= targets.length)
+            return;
+        int newCapacity = Math.max(capacity, targets.length * 2);
+        this.targets = Arrays.copyOf(targets, newCapacity);
+        this.areas = Arrays.copyOf(areas, newCapacity * 4);
+    }
+}
@@ -0,0 +1,184 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.util.LatencyHistogram;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Schedules something that should happen a fixed amount of times per second, such as ticks or frames.
+ * <br />
+ * Deadlines are calculated from the time the {@link FramePacer} was
+ * {@link #start(long) started} and the index of the frame, rather than
+ * by adding up periods, so rounding never makes the schedule drift.
+ * If the {@link FramePacer} falls behind, at most {@link #getMaxCatchUp()}
+ * frames are run at once, and any beyond that are skipped.
+ * <br />
+ * {@link #await(long) Waiting} parks the thread until shortly before the
+ * deadline and only spins for the last bit. How long to spin for is learned
+ * from how late parking tends to wake up, so the deadline is hit precisely
+ * without keeping a core busy.
+ * <br />
+ * How late each frame ran compared to its deadline is recorded in the
+ * {@link #getJitter() jitter histogram}.
+ * <br />
+ * A {@link FramePacer} should only ever be used by a single thread.
+ */
+public final class FramePacer {
+
+    private long index;
+    private long origin;
+    private long next;
+    private long spin;
+    private long frames;
+    private long skipped;
+
+    private final int rate;
+    private final int maxCatchUp;
+    private final LatencyHistogram jitter;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_SPIN = TimeUnit.MICROSECONDS.toNanos(20);
+    private static final long MAX_SPIN = TimeUnit.MILLISECONDS.toNanos(2);
+
+    /**
+     * Creates a {@link FramePacer}.
+     *
+     * @param rate       The amount of frames per second.
+     * @param maxCatchUp The most frames that may be run at once when behind.
+     * @throws IllegalArgumentException Thrown if the rate or max catch up is {@code <= 0}.
+     */
+    public FramePacer(int rate, int maxCatchUp) {
+        Validator.checkArgument(rate > 0, "Given rate {} <= 0.", rate);
+        Validator.checkArgument(maxCatchUp > 0, "Given max catch up {} <= 0.", maxCatchUp);
+        this.rate = rate;
+        this.maxCatchUp = maxCatchUp;
+        this.spin = MIN_SPIN;
+        this.jitter = new LatencyHistogram();
+    }
+
+    /**
+     * Starts the schedule, with the first frame due at the given time.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     */
+    public void start(long now) {
+        this.origin = now;
+        this.index = 0;
+        this.next = now;
+    }
+
+    /**
+     * Gets how many frames are due at the given time, and moves the schedule past them.
+     * <br />
+     * If more than {@link #getMaxCatchUp()} frames are due, the
+     * rest are skipped, and the schedule stays on the same grid.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     * @return The amount of frames to run now, which may be {@code 0}.
+     */
+    public int poll(long now) {
+        if (now - next < 0)
+            return 0;
+        jitter.record(now - next);
+        // the first frame whose deadline is still in the future
+        long target = (now - origin) * rate / NANOS_PER_SECOND + 1;
+        long due = target - index;
+        this.index = target;
+        this.next = deadlineOf(target);
+        if (due > maxCatchUp) {
+            this.skipped += due - maxCatchUp;
+            due = maxCatchUp;
+        }
+        this.frames += due;
+        return (int) due;
+    }
+
+    /**
+     * Waits until the given deadline.
+     * <br />
+     * Parks until shortly before the deadline, then spins for the rest.
+     * Returns early if the thread is interrupted.
+     *
+     * @param deadline The {@link System#nanoTime()} to wait until.
+     */
+    public void await(long deadline) {
+        while (!Thread.currentThread().isInterrupted()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+                return;
+            if (remaining <= spin) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long park = remaining - spin;
+            long before = System.nanoTime();
+            LockSupport.parkNanos(park);
+            long overshoot = System.nanoTime() - before - park;
+            // move halfway towards twice the overshoot, so the spin covers a typical late wake up
+            long target = Math.max(MIN_SPIN, Math.min(MAX_SPIN, overshoot * 2));
+            this.spin += (target - spin) / 2;
+        }
+    }
+
+    /**
+     * Gets the deadline of the next frame.
+     *
+     * @return The {@link System#nanoTime()} the next frame is due at.
+     */
+    public long getNext() {
+        return next;
+    }
+
+    /**
+     * Gets the amount of frames per second.
+     *
+     * @return The amount of frames per second.
+     */
+    public int getRate() {
+        return rate;
+    }
+
+    /**
+     * Gets the most frames that are run at once when behind.
+     *
+     * @return The max catch up.
+     */
+    public int getMaxCatchUp() {
+        return maxCatchUp;
+    }
+
+    /**
+     * Gets the amount of frames that have been due and run.
+     *
+     * @return The amount of frames run.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Gets the amount of frames skipped because too many were behind.
+     *
+     * @return The amount of frames skipped.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Gets how late each poll that had frames due was compared to the deadline of the first due frame.
+     *
+     * @return The jitter histogram.
+     */
+    @Nonnull
+    public LatencyHistogram getJitter() {
+        return jitter;
+    }
+
+    private long deadlineOf(long index) {
+        return origin + index * NANOS_PER_SECOND / rate;
+    }
+}
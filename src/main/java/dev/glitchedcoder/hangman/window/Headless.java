@@ -0,0 +1,234 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.entity.Location;
+import dev.glitchedcoder.hangman.json.Config;
+import dev.glitchedcoder.hangman.ui.ImageCache;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.LatencyHistogram;
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.key.Key;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a {@link Scene} without a {@link Window}, drawing it into an offscreen image.
+ * <br />
+ * The {@link Scene} is ticked and drawn exactly as the {@link Window}
+ * would, through {@link Scene#tick(byte)} and {@link Scene#draw(java.awt.Graphics2D)},
+ * so nothing about the {@link Scene} needs to change. No AWT component is
+ * ever created, which allows running with {@code -Djava.awt.headless=true}.
+ * <br />
+ * The image is the size of the {@link Config#getRenderResolution() render resolution},
+ * the same size the {@link Scene} would be drawn at in the {@link Window}.
+ * <br />
+ * A {@link Headless} can either be {@link #step() stepped} manually, such
+ * as for benchmarks or capturing images of a {@link Scene}, or {@link #run() run}
+ * in real time on its own thread. Note that {@link Scene}s schedule some of
+ * their work on the shared executor in real time, which does not speed up
+ * when stepping faster than {@link Constants#TICK_RATE}.
+ * <br />
+ * Ticking and drawing should happen on the same thread, the same
+ * as the game thread of the {@link Window}, while {@link #press(Key) key presses}
+ * are queued and can come from any thread.
+ */
+public final class Headless implements SceneHost, Runnable {
+
+    private byte count;
+    private long ticks;
+    private volatile boolean running;
+
+    private final int width;
+    private final int height;
+    private final SceneRenderer renderer;
+    private final LatencyHistogram inputLatency;
+    private final AtomicReference<Scene> scene;
+
+    public Headless() {
+        Resolution resolution = Config.getConfig().getRenderResolution();
+        this.width = resolution.getWidth();
+        this.height = resolution.getHeight();
+        this.renderer = new SceneRenderer();
+        this.inputLatency = new LatencyHistogram();
+        this.scene = new AtomicReference<>(null);
+        // there are no insets, so the scene gets the whole image
+        Dimension d = new Dimension(width, height);
+        Scene.adjustDimensions(d);
+        Location.adjustDimensions(d);
+    }
+
+    /**
+     * Ticks the current {@link Scene} once.
+     * <br />
+     * The tick count passed to the {@link Scene} wraps
+     * around every second, the same as in the {@link Window}.
+     *
+     * @throws IllegalArgumentException Thrown if the current scene is null.
+     */
+    public void tick() {
+        Scene scene = getScene();
+        Validator.requireNotNull(scene, "Current scene is null!");
+        scene.tick(count);
+        this.count = (byte) ((count + 1) % Constants.TICK_RATE);
+        this.ticks++;
+    }
+
+    /**
+     * Draws the current {@link Scene} into the offscreen image.
+     * <br />
+     * Only the areas of the {@link Scene} that changed are redrawn.
+     *
+     * @return The offscreen image, which is reused by every call.
+     * @throws IllegalArgumentException Thrown if the current scene is null.
+     */
+    @Nonnull
+    public BufferedImage draw() {
+        Scene scene = getScene();
+        Validator.requireNotNull(scene, "Current scene is null!");
+        BufferedImage frame = renderer.getFrame(width, height, null);
+        renderer.render(scene);
+        scene.inputDisplayed(inputLatency, System.nanoTime());
+        return frame;
+    }
+
+    /**
+     * {@link #tick() Ticks} and then {@link #draw() draws} the current {@link Scene} once.
+     *
+     * @return The offscreen image, which is reused by every call.
+     * @throws IllegalArgumentException Thrown if the current scene is null.
+     */
+    @Nonnull
+    public BufferedImage step() {
+        tick();
+        return draw();
+    }
+
+    /**
+     * Steps the current {@link Scene} at {@link Constants#TICK_RATE}
+     * until {@link #stop() stopped}, then {@link #close() closes}.
+     * <br />
+     * The same as the game thread of the {@link Window}, except
+     * that falling behind never runs more than one tick at once.
+     */
+    @Override
+    public void run() {
+        this.running = true;
+        FramePacer pacer = new FramePacer(Constants.TICK_RATE, 1);
+        pacer.start(System.nanoTime());
+        while (running && !Thread.currentThread().isInterrupted()) {
+            if (pacer.poll(System.nanoTime()) > 0)
+                step();
+            pacer.await(pacer.getNext());
+        }
+        close();
+    }
+
+    /**
+     * Stops {@link #run() running}.
+     */
+    public void stop() {
+        this.running = false;
+    }
+
+    /**
+     * Presses the given {@link Key} in the current {@link Scene}.
+     * <br />
+     * The {@link Key} is only queued if the {@link Scene} is
+     * {@link Scene#getKeyListeners() listening} for it, and is
+     * handled at the start of the next {@link #tick() tick}.
+     * Safe to call from any thread.
+     *
+     * @param key The key to press.
+     * @return True if the {@link Key} was queued, false otherwise.
+     * @throws IllegalArgumentException Thrown if the given key or the current scene is null.
+     */
+    public boolean press(@Nonnull Key key) {
+        Validator.requireNotNull(key, "Given key is null!");
+        Scene scene = getScene();
+        Validator.requireNotNull(scene, "Current scene is null!");
+        if (!scene.getKeyListeners().contains(key))
+            return false;
+        return scene.post(InputEvent.keyPress(key));
+    }
+
+    /**
+     * Creates a copy of the offscreen image as it was last {@link #draw() drawn}.
+     *
+     * @return A copy of the offscreen image.
+     */
+    @Nonnull
+    public BufferedImage capture() {
+        return ImageCache.copy(renderer.getFrame(width, height, null));
+    }
+
+    /**
+     * Gets the amount of times the {@link Headless} has {@link #tick() ticked}.
+     *
+     * @return The amount of ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets how long {@link #press(Key) key presses} took from
+     * being queued to the first frame showing them being drawn.
+     *
+     * @return The input-to-display latency of every key press so far.
+     */
+    @Nonnull
+    public LatencyHistogram getInputLatency() {
+        return inputLatency;
+    }
+
+    /**
+     * Gets the amount of pixels of the offscreen image that were repainted last frame.
+     *
+     * @return The amount of pixels repainted last frame.
+     */
+    public long getRepaintedPixels() {
+        return renderer.getRepaintedPixels();
+    }
+
+    /**
+     * Gets the size of the offscreen image.
+     *
+     * @return The size of the offscreen image.
+     */
+    @Nonnull
+    public Dimension getSize() {
+        return new Dimension(width, height);
+    }
+
+    @Nullable
+    @Override
+    public synchronized Scene getScene() {
+        return scene.get();
+    }
+
+    @Override
+    public synchronized void setScene(@Nonnull Scene scene) {
+        Validator.requireNotNull(scene, "Given scene is null!");
+        Scene current = getScene();
+        if (current != null) {
+            Validator.checkArgument(!current.equals(scene), "Given scene is same as current scene.");
+            current.onUnload();
+        }
+        this.scene.set(scene);
+        scene.attach(this);
+        scene.onLoad();
+    }
+
+    /**
+     * {@link Scene#onUnload() Unloads} the current {@link Scene}, if any.
+     */
+    public synchronized void close() {
+        Scene scene = getScene();
+        if (scene != null)
+            scene.onUnload();
+        this.scene.set(null);
+    }
+}
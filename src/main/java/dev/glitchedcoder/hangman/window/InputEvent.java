@@ -0,0 +1,79 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.window.key.Key;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.event.FocusEvent;
+
+/**
+ * An input event captured on the AWT event thread, waiting
+ * to be handled by a {@link Scene} on the game thread.
+ */
+final class InputEvent {
+
+    private final Type type;
+    private final long time;
+    private final Key key;
+    private final FocusEvent focus;
+
+    private InputEvent(Type type, long time, Key key, FocusEvent focus) {
+        this.type = type;
+        this.time = time;
+        this.key = key;
+        this.focus = focus;
+    }
+
+    /**
+     * Creates an event for the given {@link Key} being pressed.
+     *
+     * @param key The key that was pressed.
+     * @return The event, captured now.
+     */
+    @Nonnull
+    static InputEvent keyPress(@Nonnull Key key) {
+        return new InputEvent(Type.KEY_PRESS, System.nanoTime(), key, null);
+    }
+
+    /**
+     * Creates an event for the {@link Window} gaining or losing focus.
+     *
+     * @param event The focus event.
+     * @return The event, captured now.
+     */
+    @Nonnull
+    static InputEvent focus(@Nonnull FocusEvent event) {
+        Type type = event.getID() == FocusEvent.FOCUS_GAINED ? Type.FOCUS_GAINED : Type.FOCUS_LOST;
+        return new InputEvent(type, System.nanoTime(), null, event);
+    }
+
+    @Nonnull
+    Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets when the event was captured.
+     *
+     * @return The {@link System#nanoTime()} the event was captured at.
+     */
+    long getTime() {
+        return time;
+    }
+
+    @Nullable
+    Key getKey() {
+        return key;
+    }
+
+    @Nullable
+    FocusEvent getFocusEvent() {
+        return focus;
+    }
+
+    enum Type {
+        KEY_PRESS,
+        FOCUS_GAINED,
+        FOCUS_LOST
+    }
+}
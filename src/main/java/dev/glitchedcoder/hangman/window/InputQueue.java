@@ -0,0 +1,102 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue of {@link InputEvent}s.
+ * <br />
+ * Any amount of threads may {@link #offer(InputEvent) offer} events,
+ * but only a single thread, the game thread, may {@link #poll() poll} them.
+ * <br />
+ * The queue is a ring of slots, each with a sequence number telling
+ * whether the slot is free to write or ready to read for the current
+ * lap around the ring. Producers claim a slot with a single CAS, so
+ * offering never blocks, and an event is dropped if the queue is full.
+ */
+final class InputQueue {
+
+    private long head;
+
+    private final int mask;
+    private final AtomicLong tail;
+    private final AtomicLong dropped;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<InputEvent> slots;
+
+    InputQueue(int capacity) {
+        Validator.checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1,
+                "Capacity {} is not a power of two.", capacity);
+        this.mask = capacity - 1;
+        this.tail = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.sequences = new AtomicLongArray(capacity);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < capacity; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * Adds the given event to the queue.
+     * <br />
+     * Safe to call from any thread.
+     *
+     * @param event The event to add.
+     * @return True if the event was added, false if the queue was full.
+     */
+    boolean offer(@Nonnull InputEvent event) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1))
+                    break;
+            } else if (difference < 0) {
+                // the slot hasn't been read since the last lap
+                dropped.incrementAndGet();
+                return false;
+            }
+            // otherwise another producer claimed the slot first
+        }
+        slots.set(index, event);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest event from the queue.
+     * <br />
+     * Must only be called from the game thread.
+     *
+     * @return The oldest event, or {@code null} if the queue is empty.
+     */
+    @Nullable
+    InputEvent poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1)
+            return null;
+        InputEvent event = slots.get(index);
+        slots.set(index, null);
+        // free the slot for the next lap
+        sequences.set(index, head + mask + 1);
+        head++;
+        return event;
+    }
+
+    /**
+     * Gets the amount of events dropped because the queue was full.
+     *
+     * @return The amount of dropped events.
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,228 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.Hangman;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.key.Key;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the {@link Key}s pressed in a {@link Scene} into a {@link Replay} file.
+ * <br />
+ * A {@link Scene} {@link Scene#record(Recorder) recording} hands every key press
+ * it handles to the {@link Recorder} along with the tick it was handled on. Each
+ * press is packed into a single {@code long} of a ring buffer, so recording
+ * allocates nothing and never touches the file on the game thread. The ring is
+ * written out on the shared executor whenever it is half full, when the
+ * {@link Scene} is {@link #flush() paused or left}, and once it is {@link #close() closed}.
+ * <br />
+ * Only the game thread may {@link #record(long, Key) record}.
+ */
+public final class Recorder {
+
+    private volatile long head;
+    private volatile long tail;
+    private volatile int dropped;
+    private volatile boolean closed;
+
+    // only touched while writing, on the executor
+    private long last;
+    private boolean started;
+    private boolean ended;
+    private int written;
+
+    private final File file;
+    private final String mode;
+    private final long seed;
+    private final String word;
+    private final long start;
+    private final long[] ring;
+    private final Runnable write;
+    private final AtomicBoolean writing;
+
+    /**
+     * The folder replays are recorded into.
+     */
+    public static final File DIR = new File(Constants.APPDATA_DIR, "replays");
+
+    private static volatile boolean enabled = Boolean.parseBoolean(System.getProperty("hangman.recordReplays", "true"));
+
+    // key presses, not bytes, far more than a player presses between pauses
+    private static final int CAPACITY = 256;
+
+    private Recorder(File file, String mode, long seed, String word, long start) {
+        this.file = file;
+        this.mode = mode;
+        this.seed = seed;
+        this.word = word;
+        this.start = start;
+        this.last = start;
+        this.ring = new long[CAPACITY];
+        this.write = this::write;
+        this.writing = new AtomicBoolean(false);
+    }
+
+    /**
+     * Starts recording a session into a new file in {@link #DIR}.
+     *
+     * @param mode  The name of the mode being played, which tells a {@link Replay} what to replay it with.
+     * @param seed  The seed anything random in the session was picked with.
+     * @param word  The word, or an empty string if there isn't one yet.
+     * @param start The {@link Scene} tick the session started on.
+     * @return The {@link Recorder}, or {@code null} if recording is {@link #setEnabled(boolean) disabled}.
+     * @throws IllegalArgumentException Thrown if the mode or word is null.
+     */
+    @Nullable
+    public static Recorder start(@Nonnull String mode, long seed, @Nonnull String word, long start) {
+        Validator.requireNotNull(mode, "Given mode is null!");
+        Validator.requireNotNull(word, "Given word is null!");
+        if (!enabled)
+            return null;
+        String time = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS", Locale.ROOT).format(new Date());
+        return new Recorder(new File(DIR, time + "-" + mode + ".bin"), mode, seed, word, start);
+    }
+
+    /**
+     * Sets whether {@link #start(String, long, String, long) starting}
+     * a {@link Recorder} records anything.
+     * <br />
+     * Enabled unless the {@code hangman.recordReplays} property is {@code false}.
+     *
+     * @param enabled True to record sessions, false otherwise.
+     */
+    public static void setEnabled(boolean enabled) {
+        Recorder.enabled = enabled;
+    }
+
+    /**
+     * Records that the given {@link Key} was handled on the given tick.
+     * <br />
+     * If the ring is full, which would take hundreds of key presses
+     * in a single tick, the press is counted as dropped instead.
+     *
+     * @param tick The {@link Scene} tick.
+     * @param key  The key.
+     */
+    void record(long tick, @Nonnull Key key) {
+        if (closed)
+            return;
+        long tail = this.tail;
+        if (tail - head == CAPACITY) {
+            this.dropped++;
+            return;
+        }
+        ring[(int) tail & (CAPACITY - 1)] = (tick << 8) | key.ordinal();
+        this.tail = tail + 1;
+        if (tail + 1 - head >= CAPACITY / 2)
+            flush();
+    }
+
+    /**
+     * Writes everything recorded so far to the file, off the game thread.
+     * <br />
+     * Does nothing if a write is already on its way.
+     */
+    public void flush() {
+        if (!writing.compareAndSet(false, true))
+            return;
+        try {
+            Hangman.getExecutor().execute(write);
+        } catch (RejectedExecutionException e) {
+            // the game is exiting
+            writing.set(false);
+        }
+    }
+
+    /**
+     * Stops recording, and writes everything recorded along with the end of the file.
+     */
+    public void close() {
+        if (closed)
+            return;
+        this.closed = true;
+        // a write already on its way also sees closed, and writes the end
+        if (!writing.compareAndSet(false, true))
+            return;
+        try {
+            Hangman.getExecutor().execute(write);
+        } catch (RejectedExecutionException e) {
+            writing.set(false);
+        }
+    }
+
+    /**
+     * Gets the file being recorded into.
+     *
+     * @return The file.
+     */
+    @Nonnull
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Writes what is in the ring, opening the file just long enough to append to it.
+     * <br />
+     * Nothing is marked as written until it has been flushed to the file. If
+     * writing fails, recording stops for good, rather than retrying on every
+     * key press or appending a partial record twice.
+     */
+    private void write() {
+        if (ended) {
+            writing.set(false);
+            return;
+        }
+        try {
+            File parent = file.getParentFile();
+            if (!parent.exists())
+                Validator.checkArgument(parent.mkdirs(), "Failed to create replays dir!");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, started)))) {
+                if (!started)
+                    Replay.writeHeader(out, mode, seed, word, start);
+                boolean end = closed;
+                long tail = this.tail;
+                long last = this.last;
+                for (long i = head; i < tail; i++) {
+                    long event = ring[(int) i & (CAPACITY - 1)];
+                    long tick = event >>> 8;
+                    Replay.writeKey(out, (int) (event & 0xFF), tick - last);
+                    last = tick;
+                }
+                int dropped = this.dropped;
+                if (dropped != written)
+                    Replay.writeDropped(out, dropped - written);
+                if (end)
+                    Replay.writeEnd(out);
+                out.flush();
+                this.started = true;
+                this.last = last;
+                this.head = tail;
+                this.written = dropped;
+                this.ended = end;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            // a read-only or full disk won't get any better, so stop recording and drop the ring
+            this.closed = true;
+            this.ended = true;
+            this.head = tail;
+        } finally {
+            writing.set(false);
+        }
+        // anything recorded after the ring was read, or closing while writing
+        if (!ended && (tail != head || closed))
+            flush();
+    }
+}
@@ -0,0 +1,189 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.entity.RenderPriority;
+import dev.glitchedcoder.hangman.entity.Renderable;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the {@link Renderable}s of a {@link Scene}, layered by {@link RenderPriority}.
+ * <br />
+ * There is one layer per {@link RenderPriority}, so adding a {@link Renderable}
+ * never sorts or copies anything, and {@link Renderable}s of the same
+ * {@link RenderPriority} are iterated in the order they were added.
+ * <br />
+ * {@link Renderable}s can be {@link #add(Renderable) added} from any thread,
+ * but only show up once the game thread {@link #update() updates} the layers.
+ * The layers themselves are only ever touched by the game thread, so
+ * iterating them is safe as long as it is done from the game thread.
+ * Other threads should use the {@link #snapshot() snapshot} instead.
+ */
+final class RenderLayers implements Iterable<Renderable> {
+
+    private int size;
+    private volatile List<Renderable> snapshot;
+
+    private final List<Renderable>[] layers;
+    private final Queue<Renderable> pending;
+    private final AtomicBoolean cleared;
+
+    private static final int LAYERS = 256;
+
+    RenderLayers() {
+        // layers are created the first time something is added to them
+        @SuppressWarnings("unchecked")
+        List<Renderable>[] layers = (List<Renderable>[]) new List<?>[LAYERS];
+        this.layers = layers;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.cleared = new AtomicBoolean();
+        this.snapshot = Collections.emptyList();
+    }
+
+    /**
+     * Queues the given {@link Renderable} to be added.
+     * <br />
+     * The {@link Renderable} is put in the layer of its
+     * {@link RenderPriority} at the time of the next {@link #update()}.
+     *
+     * @param renderable The renderable to add.
+     */
+    void add(@Nonnull Renderable renderable) {
+        Validator.requireNotNull(renderable, "Given renderable is null!");
+        this.pending.add(renderable);
+    }
+
+    /**
+     * Queues every {@link Renderable} to be removed on the next {@link #update()},
+     * including any that haven't been added yet.
+     */
+    void clear() {
+        this.pending.clear();
+        this.cleared.set(true);
+    }
+
+    /**
+     * Applies every queued change to the layers.
+     * <br />
+     * Must only be called from the game thread.
+     *
+     * @return True if the layers changed, false otherwise.
+     */
+    boolean update() {
+        boolean changed = false;
+        if (cleared.getAndSet(false)) {
+            Arrays.fill(layers, null);
+            this.size = 0;
+            changed = true;
+        }
+        Renderable r;
+        while ((r = pending.poll()) != null) {
+            int index = layerOf(r);
+            if (layers[index] == null)
+                layers[index] = new ArrayList<>();
+            layers[index].add(r);
+            this.size++;
+            changed = true;
+        }
+        if (changed)
+            publish();
+        return changed;
+    }
+
+    /**
+     * Removes every given {@link Renderable} in a single pass over the layers.
+     * <br />
+     * Must only be called from the game thread.
+     *
+     * @param removed The renderables to remove.
+     */
+    void removeAll(@Nonnull Collection<Renderable> removed) {
+        if (removed.isEmpty())
+            return;
+        Set<Renderable> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(removed);
+        for (List<Renderable> layer : layers) {
+            if (layer == null)
+                continue;
+            int before = layer.size();
+            layer.removeIf(set::contains);
+            this.size -= before - layer.size();
+        }
+        publish();
+    }
+
+    /**
+     * Gets the {@link Renderable}s as of the last change made by the game thread.
+     * <br />
+     * Safe to call from any thread.
+     *
+     * @return An immutable {@link List} of the {@link Renderable}s,
+     *         sorted by {@link RenderPriority}.
+     */
+    @Nonnull
+    List<Renderable> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Iterates every layer from {@link RenderPriority#MIN} to {@link RenderPriority#MAX}.
+     * <br />
+     * Must only be called from the game thread.
+     *
+     * @return An iterator over the {@link Renderable}s.
+     */
+    @Nonnull
+    @Override
+    public Iterator<Renderable> iterator() {
+        return new LayerIterator();
+    }
+
+    private void publish() {
+        List<Renderable> list = new ArrayList<>(size);
+        for (List<Renderable> layer : layers) {
+            if (layer != null)
+                list.addAll(layer);
+        }
+        this.snapshot = Collections.unmodifiableList(list);
+    }
+
+    private static int layerOf(Renderable renderable) {
+        return renderable.getRenderPriority().getPriority() - Byte.MIN_VALUE;
+    }
+
+    private final class LayerIterator implements Iterator<Renderable> {
+
+        private int layer;
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            while (layer < LAYERS) {
+                if (layers[layer] != null && index < layers[layer].size())
+                    return true;
+                layer++;
+                index = 0;
+            }
+            return false;
+        }
+
+        @Override
+        public Renderable next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return layers[layer].get(index++);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dev.glitchedcoder.hangman.window;
+
+/**
+ * Represents how a {@link Scene} is rendered to the {@link View}.
+ */
+public enum RenderMode {
+
+    /**
+     * Every {@link Scene} is drawn into a fixed {@link Resolution#P576}
+     * framebuffer, which is then scaled up to the {@link View} in one blit.
+     * <br />
+     * Textures are kept at their base size, and the {@link Resolution}
+     * can be changed without restarting.
+     */
+    FRAMEBUFFER("FRAMEBUFFER"),
+    /**
+     * Every {@link Scene} is drawn straight to the {@link View}
+     * with textures scaled up to the {@link Resolution}.
+     */
+    NATIVE("NATIVE");
+
+    public static final RenderMode[] values = values();
+
+    private final String name;
+
+    RenderMode(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets whether the {@link RenderMode} draws into a fixed framebuffer.
+     *
+     * @return True if {@link #FRAMEBUFFER}, false otherwise.
+     */
+    public boolean isFramebuffer() {
+        return this == FRAMEBUFFER;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
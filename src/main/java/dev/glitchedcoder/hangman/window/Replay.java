@@ -0,0 +1,237 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.util.Validator;
+import dev.glitchedcoder.hangman.window.key.Key;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A session {@link Recorder recorded} from a {@link Scene}.
+ * <br />
+ * The file starts with the mode, seed, word and the tick the session
+ * started on, followed by one record per key press: a byte for the
+ * {@link Key} and the ticks since the last press as a variable-length
+ * number, which is two bytes for nearly every press. A file that was
+ * never closed, such as when the game was quit from the pause menu,
+ * is read up to the last press that was written.
+ */
+public final class Replay {
+
+    private final String mode;
+    private final long seed;
+    private final String word;
+    private final long start;
+    private final long[] ticks;
+    private final Key[] keys;
+    private final int dropped;
+    private final boolean complete;
+
+    private static final int MAGIC = 0x484D5250;
+    // the keys are stored by ordinal, so this changes whenever Key does
+    private static final byte VERSION = 1;
+    private static final int END = 0;
+    private static final int DROPPED = 1;
+    private static final int KEY = 2;
+
+    private Replay(String mode, long seed, String word, long start, long[] ticks, Key[] keys, int dropped, boolean complete) {
+        this.mode = mode;
+        this.seed = seed;
+        this.word = word;
+        this.start = start;
+        this.ticks = ticks;
+        this.keys = keys;
+        this.dropped = dropped;
+        this.complete = complete;
+    }
+
+    /**
+     * Reads a {@link Replay} from the given file.
+     *
+     * @param file The file.
+     * @return The {@link Replay}.
+     * @throws IOException              Thrown if the file could not be read.
+     * @throws IllegalArgumentException Thrown if the file is not a replay of this version.
+     */
+    @Nonnull
+    public static Replay read(@Nonnull File file) throws IOException {
+        Validator.requireNotNull(file, "Given file is null!");
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            Validator.checkArgument(in.readInt() == MAGIC, "'{}' is not a replay.", file);
+            byte version = in.readByte();
+            Validator.checkArgument(version == VERSION, "Replay version {} is not supported.", version);
+            String mode = in.readUTF();
+            long seed = in.readLong();
+            String word = in.readUTF();
+            long start = in.readLong();
+            long[] ticks = new long[64];
+            Key[] keys = new Key[64];
+            int size = 0;
+            int dropped = 0;
+            boolean complete = false;
+            long tick = start;
+            try {
+                while (!complete) {
+                    int tag = in.readUnsignedByte();
+                    if (tag == END) {
+                        complete = true;
+                    } else if (tag == DROPPED) {
+                        dropped += (int) readVarLong(in);
+                    } else {
+                        int ordinal = tag - KEY;
+                        Validator.checkArgument(ordinal < Key.values().length, "Unknown key {}.", ordinal);
+                        tick += readVarLong(in);
+                        if (size == ticks.length) {
+                            ticks = Arrays.copyOf(ticks, size * 2);
+                            keys = Arrays.copyOf(keys, size * 2);
+                        }
+                        ticks[size] = tick;
+                        keys[size++] = Key.values()[ordinal];
+                    }
+                }
+            } catch (EOFException e) {
+                // never closed, everything written so far is still good
+            }
+            return new Replay(mode, seed, word, start, Arrays.copyOf(ticks, size), Arrays.copyOf(keys, size), dropped, complete);
+        }
+    }
+
+    static void writeHeader(DataOutputStream out, String mode, long seed, String word, long start) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeUTF(mode);
+        out.writeLong(seed);
+        out.writeUTF(word);
+        out.writeLong(start);
+    }
+
+    static void writeKey(DataOutputStream out, int ordinal, long ticks) throws IOException {
+        out.writeByte(KEY + ordinal);
+        writeVarLong(out, ticks);
+    }
+
+    static void writeDropped(DataOutputStream out, int amount) throws IOException {
+        out.writeByte(DROPPED);
+        writeVarLong(out, amount);
+    }
+
+    static void writeEnd(DataOutputStream out) throws IOException {
+        out.writeByte(END);
+    }
+
+    /**
+     * Writes 7 bits per byte, lowest first, with the top bit set on every byte but the last.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Malformed replay.");
+    }
+
+    /**
+     * Gets the name of the mode that was played.
+     *
+     * @return The mode.
+     */
+    @Nonnull
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the seed anything random in the session was picked with.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the word, if the mode had one when the session started.
+     *
+     * @return The word, or an empty string.
+     */
+    @Nonnull
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Gets the {@link Scene} tick the session started on.
+     *
+     * @return The tick.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the amount of key presses.
+     *
+     * @return The amount of key presses.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the {@link Scene} tick the given key press was handled on.
+     *
+     * @param index The index of the key press.
+     * @return The tick.
+     */
+    public long getTick(int index) {
+        return ticks[index];
+    }
+
+    /**
+     * Gets the {@link Key} of the given key press.
+     *
+     * @param index The index of the key press.
+     * @return The key.
+     */
+    @Nonnull
+    public Key getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Gets the amount of key presses that could not be recorded,
+     * in which case the {@link Replay} can't be played back exactly.
+     *
+     * @return The amount of key presses dropped.
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Gets whether the session was recorded to the end.
+     *
+     * @return True if the session ended, false if it was left partway through.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -53,9 +53,11 @@ public enum Resolution {
      * aka {@link #P576} and diving either by width or height. i.e.,
      * {@code 1280 / 1024 = 1.25}.
      * <br />
-     * This scalar is used by {@link dev.glitchedcoder.hangman.ui.TexturePreprocessor}
-     * in order to scale up {@link dev.glitchedcoder.hangman.ui.Texture}s to make sure
-     * that the {@link Scene} looks the same for every {@link Resolution}.
+     * When rendering in {@link RenderMode#NATIVE}, this scalar is used by
+     * {@link dev.glitchedcoder.hangman.ui.TexturePreprocessor} in order to scale
+     * up {@link dev.glitchedcoder.hangman.ui.Texture}s to make sure that the
+     * {@link Scene} looks the same for every {@link Resolution}.
+     * In {@link RenderMode#FRAMEBUFFER}, the whole frame is scaled up instead.
      *
      * @return The scalar.
      */
@@ -4,24 +4,36 @@ import dev.glitchedcoder.hangman.Hangman;
 import dev.glitchedcoder.hangman.entity.RenderPriority;
 import dev.glitchedcoder.hangman.entity.Renderable;
 import dev.glitchedcoder.hangman.json.Config;
+import dev.glitchedcoder.hangman.util.LatencyHistogram;
 import dev.glitchedcoder.hangman.util.Validator;
 import dev.glitchedcoder.hangman.window.key.Key;
 import lombok.EqualsAndHashCode;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.KeyEventDispatcher;
+import java.awt.Rectangle;
 import java.awt.event.FocusEvent;
 import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 /**
  * Acts as the level/scene being displayed in the {@link View}.
@@ -29,18 +41,37 @@ import java.util.concurrent.atomic.AtomicReference;
 @EqualsAndHashCode(of = "id")
 public abstract class Scene implements KeyEventDispatcher {
 
+    private long ticks;
+    private long[] handled;
+    private int handledCount;
+    private Recorder recorder;
+    private volatile SceneHost host;
+
     private final UUID id;
+    private final InputQueue input;
+    private final AtomicBoolean invalidated;
     private final AtomicReference<Color> bg;
-    private final List<Renderable> renderables;
+    private final RenderLayers renderables;
+    private final List<Renderable> removed;
+    private final Queue<Runnable> completed;
+    private final Map<Renderable, Rectangle> drawn;
     protected final ScheduledExecutorService executor = Hangman.getExecutor();
 
     protected static Dimension dimension;
     protected static final Config config = Config.getConfig();
 
+    private static final int INPUT_CAPACITY = 64;
+
     protected Scene() {
         this.id = UUID.randomUUID();
+        this.input = new InputQueue(INPUT_CAPACITY);
+        this.handled = new long[INPUT_CAPACITY];
+        this.invalidated = new AtomicBoolean(true);
         this.bg = new AtomicReference<>(Color.BLACK);
-        this.renderables = new CopyOnWriteArrayList<>();
+        this.renderables = new RenderLayers();
+        this.removed = new ArrayList<>();
+        this.completed = new ConcurrentLinkedQueue<>();
+        this.drawn = new IdentityHashMap<>();
     }
 
     /**
@@ -69,6 +100,9 @@ public abstract class Scene implements KeyEventDispatcher {
      * is being pressed. If there are no key listeners,
      * this method will never be called, even when valid
      * {@link Key}s are being pressed.
+     * <br />
+     * Key presses are queued as they happen and handled
+     * on the game thread at the start of the next tick.
      *
      * @param key The key that was pressed.
      */
@@ -77,6 +111,8 @@ public abstract class Scene implements KeyEventDispatcher {
 
     /**
      * Called when the {@link Window} has gained focus.
+     * <br />
+     * Handled on the game thread at the start of the next tick.
      *
      * @param event The focus event.
      */
@@ -88,6 +124,8 @@ public abstract class Scene implements KeyEventDispatcher {
      * <br />
      * If in game, the {@link Scene} can handle this event
      * by opening a pause menu or other menu.
+     * <br />
+     * Handled on the game thread at the start of the next tick.
      *
      * @param event The focus event.
      */
@@ -100,20 +138,33 @@ public abstract class Scene implements KeyEventDispatcher {
      * While this method can be overidden, the implementation should
      * similarly call {@code super(count);} due to the handling of
      * {@link Renderable renderable objects}.
+     * <br />
+     * Queued input is handled first, then anything waiting on
+     * {@link #onComplete(CompletableFuture, BiConsumer) completed work}
+     * is run, then the {@link Renderable}s are ticked. {@link Renderable}s that should be removed are removed
+     * all at once after every other {@link Renderable} has ticked.
      *
      * @param count The tick count, usually {@code 0 <= count <= 30}.
      */
     protected void tick(byte count) {
+        handleInput();
+        Runnable runnable;
+        while ((runnable = completed.poll()) != null)
+            runnable.run();
+        this.renderables.update();
         for (Renderable r : this.renderables) {
             if (!r.shouldDraw())
                 continue;
             if (r.shouldRemove()) {
                 r.remove();
-                renderables.remove(r);
+                removed.add(r);
                 continue;
             }
             r.tick(count);
         }
+        this.renderables.removeAll(removed);
+        this.removed.clear();
+        this.ticks++;
     }
 
     /**
@@ -126,53 +177,260 @@ public abstract class Scene implements KeyEventDispatcher {
      * @param graphics The graphics object.
      */
     protected void draw(Graphics2D graphics) {
+        Rectangle clip = graphics.getClipBounds();
+        for (Renderable r : this.renderables) {
+            if (!r.shouldDraw())
+                continue;
+            // skip anything entirely outside of the area being redrawn
+            if (clip != null) {
+                Rectangle bounds = r.getDrawBounds();
+                if (bounds != null && !bounds.intersects(clip))
+                    continue;
+            }
+            r.draw(graphics);
+        }
+    }
+
+    /**
+     * Adds every area of the {@link Scene} that changed since the last call to the given region.
+     * <br />
+     * Called by the {@link View} right before drawing. A {@link Renderable}
+     * damages both the area it was last drawn to and the area it will now
+     * be drawn to if it moved, resized, was hidden, shown or removed, and
+     * the area it will be drawn to if it was {@link Renderable#pollInvalidated() invalidated}.
+     * A {@link Renderable} without {@link Renderable#getDrawBounds() draw bounds}
+     * damages the whole region, as does {@link #invalidate() invalidating} the {@link Scene}.
+     *
+     * @param region The region to add the damaged areas to.
+     */
+    void collectDamage(DirtyRegion region) {
+        this.renderables.update();
+        if (invalidated.getAndSet(false))
+            region.addAll();
+        Set<Renderable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Renderable r : this.renderables) {
+            seen.add(r);
+            boolean invalidated = r.pollInvalidated();
+            Rectangle last = drawn.get(r);
+            Rectangle now = r.shouldDraw() ? r.getDrawBounds() : null;
+            if (r.shouldDraw() && now == null) {
+                region.addAll();
+                drawn.remove(r);
+                continue;
+            }
+            if (last == null ? now != null : !last.equals(now)) {
+                region.add(last);
+                region.add(now);
+            } else if (invalidated) {
+                region.add(now);
+            }
+            if (now == null)
+                drawn.remove(r);
+            else
+                drawn.put(r, now);
+        }
+        // anything drawn last frame that has since been removed
+        Iterator<Map.Entry<Renderable, Rectangle>> iterator = drawn.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Renderable, Rectangle> entry = iterator.next();
+            if (seen.contains(entry.getKey()))
+                continue;
+            region.add(entry.getValue());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Queues the given {@link InputEvent} to be handled at the start of the next tick.
+     * <br />
+     * Safe to call from any thread.
+     *
+     * @param event The event to queue.
+     * @return True if the event was queued, false if too much input is already queued.
+     */
+    final boolean post(@Nonnull InputEvent event) {
+        return input.offer(event);
+    }
+
+    /**
+     * Handles every queued {@link InputEvent} on the game thread.
+     */
+    private void handleInput() {
+        InputEvent event;
+        while ((event = input.poll()) != null) {
+            switch (event.getType()) {
+                case KEY_PRESS:
+                    if (handledCount == handled.length)
+                        this.handled = Arrays.copyOf(handled, handled.length * 2);
+                    handled[handledCount++] = event.getTime();
+                    if (recorder != null)
+                        recorder.record(ticks, event.getKey());
+                    onKeyPress(event.getKey());
+                    break;
+                case FOCUS_GAINED:
+                    focusGained(event.getFocusEvent());
+                    break;
+                case FOCUS_LOST:
+                    focusLost(event.getFocusEvent());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Called by the {@link SceneHost} once a frame including every
+     * key press handled so far is on display.
+     * <br />
+     * Records how long each key press took from being captured
+     * to being displayed in the given {@link LatencyHistogram}.
+     *
+     * @param latency The histogram to record the latencies in.
+     * @param now     The {@link System#nanoTime()} the frame was displayed at.
+     */
+    final void inputDisplayed(@Nonnull LatencyHistogram latency, long now) {
+        for (int i = 0; i < handledCount; i++)
+            latency.record(now - handled[i]);
+        this.handledCount = 0;
+    }
+
+    /**
+     * Takes a {@link SceneSnapshot} of everything the {@link Scene} currently draws.
+     * <br />
+     * Called by the {@link View} on the simulation thread right after ticking,
+     * when running with a separate render thread. Each {@link Renderable} that
+     * should be drawn {@link Renderable#record(DrawList) records} itself, and the
+     * key presses handled so far are handed over to the snapshot.
+     *
+     * @param snapshot The cleared snapshot to take.
+     */
+    final void snapshot(@Nonnull SceneSnapshot snapshot) {
+        this.renderables.update();
+        snapshot.begin(this, getBackground(), invalidated.getAndSet(false));
         for (Renderable r : this.renderables) {
-            if (r.shouldDraw())
-                r.draw(graphics);
+            if (!r.shouldDraw())
+                continue;
+            DrawList list = snapshot.add(r);
+            if (!r.record(list))
+                list.live(r.getDrawBounds());
         }
+        snapshot.addInput(handled, handledCount);
+        this.handledCount = 0;
+    }
+
+    /**
+     * Gets the amount of {@link InputEvent}s dropped because too much input was queued.
+     *
+     * @return The amount of dropped events.
+     */
+    public final long getDroppedInput() {
+        return input.getDropped();
+    }
+
+    /**
+     * Runs the given action once the given {@link CompletableFuture} completes.
+     * <br />
+     * The action is run on the game thread at the start of the next tick,
+     * the same as input, so it can safely change the {@link Scene}. It is
+     * given either the result, or the exception the future failed with.
+     *
+     * @param future The future to wait for.
+     * @param action What to run with the result or the exception.
+     * @param <T>    The type of result.
+     */
+    protected final <T> void onComplete(@Nonnull CompletableFuture<T> future, @Nonnull BiConsumer<T, Throwable> action) {
+        Validator.requireNotNull(future, "Given future is null!");
+        Validator.requireNotNull(action, "Given action is null!");
+        future.whenComplete((result, e) -> completed.add(() -> action.accept(result, e)));
+    }
+
+    /**
+     * Records every key press handled from the next tick on with the given {@link Recorder}.
+     * <br />
+     * Each press is recorded with the {@link #getTicks() tick} it was handled on,
+     * so a {@link Replay} can press it on the same tick. Only key presses are
+     * recorded, so a {@link Scene} worth replaying should only depend on them
+     * and on ticks, with anything random picked from a recorded seed.
+     *
+     * @param recorder The recorder, or {@code null} to stop recording.
+     */
+    protected final void record(@Nullable Recorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Gets the amount of times the {@link Scene} has ticked.
+     * <br />
+     * Only counts ticks while the {@link Scene} is loaded,
+     * so it doesn't advance while paused.
+     *
+     * @return The amount of ticks.
+     */
+    protected final long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Marks the whole {@link Scene} as changed, so it is redrawn next frame.
+     * <br />
+     * {@link Renderable}s already report their own changes, so this is
+     * only needed for changes the {@link Renderable}s can't see.
+     */
+    protected final void invalidate() {
+        this.invalidated.set(true);
     }
 
     /**
      * A shortcut for setting the current {@link Scene}.
      * <br />
-     * Gets the {@link View} of the {@link Window} and
-     * passes the given {@link Scene} onto it.
+     * Passes the given {@link Scene} onto the {@link SceneHost}
+     * that loaded this {@link Scene}, which is the {@link View}
+     * of the {@link Window} unless running {@link Headless headless}.
      *
      * @param scene The scene to set.
      */
     protected final void setScene(@Nonnull Scene scene) {
         Validator.requireNotNull(scene, "Given scene is null!");
-        View view = Hangman.getWindow().getView();
-        view.setScene(scene);
+        SceneHost host = this.host;
+        if (host == null)
+            host = Hangman.getWindow().getView();
+        host.setScene(scene);
         this.renderables.clear();
     }
 
+    /**
+     * Called by the {@link SceneHost} right before loading the {@link Scene}.
+     *
+     * @param host The host loading the {@link Scene}.
+     */
+    final void attach(@Nonnull SceneHost host) {
+        this.host = host;
+    }
+
     /**
      * Adds the given {@link Renderable} object to the {@link Scene}.
      * <br />
-     * Used to sort all {@link #renderables} by {@link RenderPriority}.
+     * The {@link Renderable} is layered by its {@link RenderPriority}
+     * at the time it is added, and shows up on the next tick or frame.
      *
      * @param renderable The renderable object to add.
      */
     protected final void addRenderable(@Nonnull Renderable renderable) {
         Validator.requireNotNull(renderable, "Given renderable is null!");
         this.renderables.add(renderable);
-        Collections.sort(this.renderables);
     }
 
     /**
      * Adds the given {@link Renderable} objects to the {@link Scene}.
      * <br />
-     * Used to sort all {@link #renderables} by {@link RenderPriority}.
+     * Each {@link Renderable} is layered by its {@link RenderPriority}
+     * at the time it is added, and shows up on the next tick or frame.
      *
      * @param renderables The renderable objects to add.
      */
     protected final void addRenderables(@Nonnull Renderable... renderables) {
         Validator.requireNotNull(renderables, "Given renderables array is null!");
-        if (renderables.length == 0)
-            return;
-        Collections.addAll(this.renderables, renderables);
-        Collections.sort(this.renderables);
+        for (Renderable renderable : renderables)
+            addRenderable(renderable);
     }
 
     /**
@@ -235,12 +493,13 @@ public abstract class Scene implements KeyEventDispatcher {
      * {@link Renderable} objects are sorted by
      * their {@link RenderPriority}.
      * <br />
-     * Returns an immutable {@link List}.
+     * Returns an immutable snapshot as of the last tick or frame,
+     * which is safe to hold onto and read from any thread.
      *
      * @return The {@link List} of {@link Renderable}s.
      */
     public final List<Renderable> getRenderables() {
-        return Collections.unmodifiableList(renderables);
+        return renderables.snapshot();
     }
 
     @Override
@@ -250,7 +509,7 @@ public abstract class Scene implements KeyEventDispatcher {
         Key key = Key.of(event.getKeyCode());
         if (getKeyListeners().contains(key)) {
             if (event.getID() == KeyEvent.KEY_PRESSED) {
-                onKeyPress(key);
+                post(InputEvent.keyPress(key));
                 return true;
             }
         }
@@ -0,0 +1,34 @@
+package dev.glitchedcoder.hangman.window;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Something that holds the current {@link Scene} and drives it.
+ * <br />
+ * A {@link Scene} always changes to the next {@link Scene}
+ * through the {@link SceneHost} that loaded it, so the same
+ * {@link Scene} can be shown in a {@link View} or run {@link Headless headless}.
+ */
+public interface SceneHost {
+
+    /**
+     * Gets the current {@link Scene}.
+     *
+     * @return The current {@link Scene}, or {@code null} if there is none.
+     */
+    @Nullable
+    Scene getScene();
+
+    /**
+     * Sets the current {@link Scene}.
+     * <br />
+     * The {@link #getScene() current scene}, if any, is
+     * {@link Scene#onUnload() unloaded}, and the given
+     * {@link Scene} is then {@link Scene#onLoad() loaded}.
+     *
+     * @param scene The new scene.
+     * @throws IllegalArgumentException Thrown if the given scene is null or is the current scene.
+     */
+    void setScene(@Nonnull Scene scene);
+}
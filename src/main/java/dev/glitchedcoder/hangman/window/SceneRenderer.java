@@ -0,0 +1,212 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.entity.Renderable;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Draws a {@link Scene} onto a persistent back buffer.
+ * <br />
+ * Only the {@link DirtyRegion dirty regions} of the {@link Scene} are
+ * redrawn: each one is cleared with the background of the {@link Scene}
+ * and then passed on to {@link Scene} with the region as the clip.
+ * The whole {@link Scene} is redrawn when the {@link Scene}, its
+ * background or the size of the back buffer changes.
+ * <br />
+ * Shared by the {@link View} and {@link Headless}, which only
+ * differ in where the back buffer ends up.
+ * <br />
+ * A {@link Scene} can either be drawn directly, on the same thread
+ * that ticks it, or from a {@link SceneSnapshot} on a separate render
+ * thread. In the latter case, what changed is found by comparing
+ * the snapshot to the last one drawn.
+ */
+final class SceneRenderer {
+
+    private Scene lastScene;
+    private Color lastBackground;
+    private BufferedImage frame;
+    private volatile long repaintedPixels;
+
+    private final DirtyRegion damage;
+    private final SceneSnapshot drawn;
+    private final Map<Renderable, DrawList> previous;
+
+    private static final RenderingHints RENDERING_HINTS;
+
+    static {
+        RENDERING_HINTS = new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        RENDERING_HINTS.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    }
+
+    SceneRenderer() {
+        this.damage = new DirtyRegion(0, 0);
+        this.drawn = new SceneSnapshot();
+        this.previous = new IdentityHashMap<>();
+    }
+
+    /**
+     * Gets the back buffer, creating it if it does not exist or is not the given size.
+     * <br />
+     * A new back buffer is always redrawn as a whole.
+     *
+     * @param width         The width of the back buffer.
+     * @param height        The height of the back buffer.
+     * @param configuration The configuration to create a compatible back buffer with, if any.
+     * @return The back buffer.
+     */
+    @Nonnull
+    BufferedImage getFrame(int width, int height, @Nullable GraphicsConfiguration configuration) {
+        if (frame == null || frame.getWidth() != width || frame.getHeight() != height) {
+            if (configuration != null)
+                this.frame = configuration.createCompatibleImage(width, height);
+            else
+                this.frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            damage.reset(width, height);
+            this.lastScene = null;
+        }
+        return frame;
+    }
+
+    /**
+     * Redraws every area of the given {@link Scene} that changed since the last call.
+     * <br />
+     * The areas redrawn stay available from {@link #getDamage()} until the next call.
+     *
+     * @param scene The scene to draw.
+     * @return True if anything was redrawn, false otherwise.
+     * @throws IllegalArgumentException Thrown if the back buffer has not been created yet.
+     */
+    boolean render(@Nonnull Scene scene) {
+        Validator.checkArgument(frame != null, "Back buffer has not been created.");
+        damage.clear();
+        Color background = scene.getBackground();
+        scene.collectDamage(damage);
+        if (scene != lastScene || !background.equals(lastBackground))
+            damage.addAll();
+        this.lastScene = scene;
+        this.lastBackground = background;
+        this.repaintedPixels = damage.getArea();
+        if (damage.isEmpty())
+            return false;
+        Graphics2D graphics = frame.createGraphics();
+        graphics.setRenderingHints(RENDERING_HINTS);
+        for (Rectangle region : damage.getRectangles()) {
+            graphics.setClip(region);
+            graphics.setColor(background);
+            graphics.fill(region);
+            scene.draw(graphics);
+        }
+        graphics.dispose();
+        return true;
+    }
+
+    /**
+     * Redraws every area of the given {@link SceneSnapshot} that changed since the last one drawn.
+     * <br />
+     * The {@link Scene} itself is never touched, so this is safe to call
+     * from a render thread while the {@link Scene} is being ticked.
+     * The areas redrawn stay available from {@link #getDamage()} until the next call.
+     *
+     * @param snapshot The snapshot to draw.
+     * @return True if anything was redrawn, false otherwise.
+     * @throws IllegalArgumentException Thrown if the back buffer has not been created yet,
+     *                                  or if the snapshot is empty.
+     */
+    boolean render(@Nonnull SceneSnapshot snapshot) {
+        Validator.checkArgument(frame != null, "Back buffer has not been created.");
+        Scene scene = snapshot.getScene();
+        Color background = snapshot.getBackground();
+        Validator.checkArgument(scene != null && background != null, "Given snapshot is empty.");
+        damage.clear();
+        if (scene != lastScene || !background.equals(lastBackground) || snapshot.isFull())
+            damage.addAll();
+        else
+            diff(snapshot);
+        this.lastScene = scene;
+        this.lastBackground = background;
+        this.repaintedPixels = damage.getArea();
+        drawn.copyFrom(snapshot);
+        if (damage.isEmpty())
+            return false;
+        Graphics2D graphics = frame.createGraphics();
+        graphics.setRenderingHints(RENDERING_HINTS);
+        for (Rectangle region : damage.getRectangles()) {
+            graphics.setClip(region);
+            graphics.setColor(background);
+            graphics.fill(region);
+            snapshot.replay(graphics, region);
+        }
+        graphics.dispose();
+        return true;
+    }
+
+    /**
+     * Adds every area that differs between the last snapshot drawn and the given one.
+     * <br />
+     * A {@link Renderable} damages both the area it was drawn to and the area
+     * it will now be drawn to if the two differ, and the area it will be drawn
+     * to if it draws anything different. A {@link Renderable} that couldn't be
+     * recorded is always redrawn.
+     *
+     * @param snapshot The snapshot about to be drawn.
+     */
+    private void diff(SceneSnapshot snapshot) {
+        previous.clear();
+        for (int i = 0; i < drawn.size(); i++)
+            previous.put(drawn.get(i).getRenderable(), drawn.get(i));
+        for (int i = 0; i < snapshot.size(); i++) {
+            DrawList now = snapshot.get(i);
+            DrawList last = previous.remove(now.getRenderable());
+            if (now.isUnbounded() || (last != null && last.isUnbounded())) {
+                damage.addAll();
+                return;
+            }
+            if (last == null) {
+                damage.add(now.getBounds());
+            } else if (!last.getBounds().equals(now.getBounds())) {
+                damage.add(last.getBounds());
+                damage.add(now.getBounds());
+            } else if (!now.sameAs(last)) {
+                damage.add(now.getBounds());
+            }
+        }
+        // anything drawn last frame that is no longer drawn
+        for (DrawList last : previous.values()) {
+            if (last.isUnbounded()) {
+                damage.addAll();
+                return;
+            }
+            damage.add(last.getBounds());
+        }
+    }
+
+    /**
+     * Gets the areas redrawn by the last {@link #render(Scene)}.
+     *
+     * @return The areas redrawn last frame.
+     */
+    @Nonnull
+    DirtyRegion getDamage() {
+        return damage;
+    }
+
+    /**
+     * Gets the amount of pixels of the back buffer that were repainted last frame.
+     *
+     * @return The amount of pixels repainted last frame.
+     */
+    long getRepaintedPixels() {
+        return repaintedPixels;
+    }
+}
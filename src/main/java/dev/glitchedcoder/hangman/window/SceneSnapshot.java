@@ -0,0 +1,166 @@
+package dev.glitchedcoder.hangman.window;
+
+import dev.glitchedcoder.hangman.entity.Renderable;
+import dev.glitchedcoder.hangman.util.LatencyHistogram;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Everything needed to draw a {@link Scene} as it was after a single tick.
+ * <br />
+ * Taken by the simulation thread and drawn by the render thread
+ * when running with a separate render thread. Holds one {@link DrawList}
+ * per {@link Renderable} in {@link dev.glitchedcoder.hangman.entity.RenderPriority}
+ * order, and the capture times of the key presses handled up to the tick.
+ * <br />
+ * Snapshots are reused, so the {@link DrawList}s are only ever allocated
+ * once, and a snapshot must only be touched by the thread that owns it.
+ */
+final class SceneSnapshot {
+
+    private int size;
+    private int inputCount;
+    private boolean full;
+    private Scene scene;
+    private Color background;
+    private DrawList[] lists;
+    private long[] input;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    SceneSnapshot() {
+        this.lists = new DrawList[INITIAL_CAPACITY];
+        this.input = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Clears the snapshot so it can be taken again.
+     *
+     * @param carry True to keep the key presses and whether the whole {@link Scene}
+     *              needs to be redrawn, as when this snapshot was never drawn.
+     */
+    void reset(boolean carry) {
+        this.scene = null;
+        this.background = null;
+        this.size = 0;
+        if (carry)
+            return;
+        this.full = false;
+        this.inputCount = 0;
+    }
+
+    /**
+     * Starts taking the snapshot of the given {@link Scene}.
+     *
+     * @param scene      The scene.
+     * @param background The background of the scene.
+     * @param full       True if the whole scene needs to be redrawn.
+     */
+    void begin(@Nonnull Scene scene, @Nonnull Color background, boolean full) {
+        this.scene = scene;
+        this.background = background;
+        this.full |= full;
+    }
+
+    /**
+     * Adds a {@link DrawList} for the given {@link Renderable} to record into.
+     *
+     * @param renderable The renderable.
+     * @return The cleared {@link DrawList}.
+     */
+    @Nonnull
+    DrawList add(@Nonnull Renderable renderable) {
+        if (size == lists.length)
+            this.lists = Arrays.copyOf(lists, size * 2);
+        DrawList list = lists[size];
+        if (list == null) {
+            list = new DrawList();
+            lists[size] = list;
+        }
+        list.reset(renderable);
+        this.size++;
+        return list;
+    }
+
+    /**
+     * Adds the capture times of handled key presses.
+     *
+     * @param times The {@link System#nanoTime()}s the key presses were captured at.
+     * @param count The amount of times to add.
+     */
+    void addInput(@Nonnull long[] times, int count) {
+        if (inputCount + count > input.length)
+            this.input = Arrays.copyOf(input, Math.max(input.length * 2, inputCount + count));
+        System.arraycopy(times, 0, input, inputCount, count);
+        this.inputCount += count;
+    }
+
+    /**
+     * Records how long each key press in the snapshot took to be
+     * displayed in the given {@link LatencyHistogram}, then forgets them.
+     *
+     * @param latency The histogram to record the latencies in.
+     * @param now     The {@link System#nanoTime()} the snapshot was displayed at.
+     */
+    void inputDisplayed(@Nonnull LatencyHistogram latency, long now) {
+        for (int i = 0; i < inputCount; i++)
+            latency.record(now - input[i]);
+        this.inputCount = 0;
+    }
+
+    /**
+     * Draws every {@link DrawList} that could touch the given area.
+     *
+     * @param graphics The graphics object to draw with.
+     * @param clip     The area being drawn.
+     */
+    void replay(@Nonnull Graphics2D graphics, @Nonnull Rectangle clip) {
+        for (int i = 0; i < size; i++) {
+            DrawList list = lists[i];
+            if (list.isUnbounded() || list.getBounds().intersects(clip))
+                list.replay(graphics);
+        }
+    }
+
+    /**
+     * Replaces the {@link DrawList}s of this snapshot with copies of the given snapshot's.
+     * <br />
+     * The key presses are not copied.
+     *
+     * @param other The snapshot to copy.
+     */
+    void copyFrom(@Nonnull SceneSnapshot other) {
+        reset(false);
+        begin(other.scene, other.background, other.full);
+        for (int i = 0; i < other.size; i++)
+            add(other.lists[i].getRenderable()).copyFrom(other.lists[i]);
+    }
+
+    @Nullable
+    Scene getScene() {
+        return scene;
+    }
+
+    @Nullable
+    Color getBackground() {
+        return background;
+    }
+
+    boolean isFull() {
+        return full;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @Nonnull
+    DrawList get(int index) {
+        return lists[index];
+    }
+}
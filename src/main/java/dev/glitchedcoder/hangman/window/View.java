@@ -1,34 +1,60 @@
 package dev.glitchedcoder.hangman.window;
 
 import dev.glitchedcoder.hangman.entity.Renderable;
+import dev.glitchedcoder.hangman.json.Config;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.LatencyHistogram;
+import dev.glitchedcoder.hangman.util.TripleBuffer;
 import dev.glitchedcoder.hangman.util.Validator;
 
 import javax.annotation.Nonnull;
 import java.awt.Canvas;
+import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.KeyboardFocusManager;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
-public final class View extends Canvas implements FocusListener {
+public final class View extends Canvas implements SceneHost, FocusListener {
 
+    private long lastPresent;
+    private Rectangle lastBounds;
+    private boolean carry;
+    private BufferedImage frame;
+    private volatile boolean exposed;
+    private volatile long skippedFrames;
+
+    private final RenderMode mode;
+    private final SceneRenderer renderer;
+    private final LatencyHistogram inputLatency;
+    private final TripleBuffer<SceneSnapshot> snapshots;
     private final AtomicReference<Scene> scene;
 
-    private static final RenderingHints RENDERING_HINTS;
+    static final Resolution FRAME_RESOLUTION = Resolution.P576;
+
+    private static final Color LETTERBOX = Color.BLACK;
+    private static final Color DEBUG_OUTLINE = Color.MAGENTA;
+    private static final long KEEP_ALIVE = TimeUnit.SECONDS.toNanos(1);
     private static final KeyboardFocusManager KEYBOARD_MANAGER;
 
     static {
         KEYBOARD_MANAGER = KeyboardFocusManager.getCurrentKeyboardFocusManager();
-        RENDERING_HINTS = new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        RENDERING_HINTS.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
     }
 
     public View() {
+        this.mode = Config.getConfig().getRenderMode();
         this.scene = new AtomicReference<>(null);
+        this.renderer = new SceneRenderer();
+        this.inputLatency = new LatencyHistogram();
+        this.snapshots = new TripleBuffer<>(SceneSnapshot::new);
         setFocusable(true);
     }
 
@@ -52,25 +78,247 @@ public final class View extends Canvas implements FocusListener {
      * <br />
      * If no {@link BufferStrategy} exists, this method
      * creates a double-{@link BufferStrategy}.
-     * Gets the {@link Graphics2D} object and applies
-     * {@link RenderingHints}. Draws the background of the
-     * {@link Scene} and then passes it on to {@link Scene}.
+     * <br />
+     * The {@link Scene} is drawn onto a persistent back buffer by a
+     * {@link SceneRenderer}, which only redraws what changed.
+     * <br />
+     * If nothing was repainted, the {@link View} is not presented at all,
+     * unless it was exposed by the OS, resized, lost its contents or hasn't
+     * been presented for a while, in which case the back buffer is copied
+     * again as a keep-alive.
+     * <br />
+     * The back buffer is then copied to the {@link View}. In
+     * {@link RenderMode#FRAMEBUFFER}, the back buffer is the fixed-size
+     * framebuffer, which is scaled up to the {@link #getFrameBounds() frame bounds}
+     * in a single blit, with the rest of the {@link View} letterboxed.
+     *
+     * @return True if the {@link View} was presented, false if the frame was skipped.
      */
-    public void draw() {
+    public boolean draw() {
         BufferStrategy strategy = getBufferStrategy();
         if (strategy == null) {
             createBufferStrategy(2);
-            return;
+            return false;
         }
         Scene scene = getScene();
         Validator.requireNotNull(scene, "Current scene is null!");
-        Graphics2D graphics = (Graphics2D) strategy.getDrawGraphics();
-        graphics.setRenderingHints(RENDERING_HINTS);
-        graphics.setColor(scene.getBackground());
-        graphics.fillRect(0, 0, getWidth(), getHeight());
-        scene.draw(graphics);
-        graphics.dispose();
-        strategy.show();
+        getFrame();
+        boolean presented = present(strategy, renderer.render(scene));
+        // if nothing changed, whatever input was handled is already on display
+        scene.inputDisplayed(inputLatency, System.nanoTime());
+        return presented;
+    }
+
+    /**
+     * Takes a {@link SceneSnapshot} of the current {@link Scene} and hands it to the render thread.
+     * <br />
+     * Called by the simulation thread after every tick when the
+     * {@link Window} runs with a separate render thread. If the render
+     * thread never drew the previous snapshot, the key presses in it
+     * are carried over to the next one.
+     *
+     * @throws IllegalArgumentException Thrown if the current scene is null.
+     */
+    void publish() {
+        Scene scene = getScene();
+        Validator.requireNotNull(scene, "Current scene is null!");
+        SceneSnapshot snapshot = snapshots.getBack();
+        snapshot.reset(carry);
+        scene.snapshot(snapshot);
+        this.carry = snapshots.publish();
+    }
+
+    /**
+     * Draws the latest {@link SceneSnapshot} {@link #publish() published} by the simulation thread.
+     * <br />
+     * Called by the render thread when the {@link Window} runs with
+     * a separate render thread. Works the same as {@link #draw()},
+     * except the {@link Scene} itself is never touched.
+     *
+     * @return True if the {@link View} was presented, false if the frame was skipped.
+     */
+    boolean drawLatest() {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            createBufferStrategy(2);
+            return false;
+        }
+        SceneSnapshot latest = snapshots.poll();
+        if (snapshots.getFront().getScene() == null)
+            return false;
+        getFrame();
+        boolean presented = present(strategy, latest != null && renderer.render(latest));
+        if (latest != null)
+            latest.inputDisplayed(inputLatency, System.nanoTime());
+        return presented;
+    }
+
+    /**
+     * Copies the back buffer to the {@link View}, if needed.
+     *
+     * @param strategy  The buffer strategy of the {@link View}.
+     * @param repainted True if the back buffer was repainted this frame.
+     * @return True if the {@link View} was presented, false if the frame was skipped.
+     */
+    private boolean present(BufferStrategy strategy, boolean repainted) {
+        long now = System.nanoTime();
+        Rectangle bounds = getFrameBounds();
+        boolean present = repainted || exposed || !bounds.equals(lastBounds)
+                || strategy.contentsLost() || now - lastPresent >= KEEP_ALIVE;
+        if (!present) {
+            this.skippedFrames++;
+            return false;
+        }
+        this.exposed = false;
+        do {
+            do {
+                Graphics2D graphics = (Graphics2D) strategy.getDrawGraphics();
+                if (mode.isFramebuffer()) {
+                    graphics.setColor(LETTERBOX);
+                    graphics.fillRect(0, 0, getWidth(), getHeight());
+                    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+                    graphics.drawImage(frame, bounds.x, bounds.y, bounds.width, bounds.height, null);
+                } else {
+                    graphics.drawImage(frame, 0, 0, null);
+                }
+                if (Constants.DEBUG_DIRTY_REGIONS)
+                    drawDamage(graphics, bounds);
+                graphics.dispose();
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        this.lastPresent = now;
+        this.lastBounds = bounds;
+        return true;
+    }
+
+    /**
+     * Called by AWT when the {@link View} needs to be repainted, such
+     * as when the {@link Window} is uncovered or restored by the OS.
+     * <br />
+     * Since the {@link View} is actively rendered by the game thread,
+     * this only makes sure the next frame is presented.
+     *
+     * @param graphics The graphics object, unused.
+     */
+    @Override
+    public void paint(Graphics graphics) {
+        this.exposed = true;
+    }
+
+    /**
+     * Called by AWT when the {@link View} needs to be updated.
+     * <br />
+     * Overridden so AWT does not clear the {@link View} before {@link #paint(Graphics) painting}.
+     *
+     * @param graphics The graphics object, unused.
+     */
+    @Override
+    public void update(Graphics graphics) {
+        paint(graphics);
+    }
+
+    /**
+     * Gets the amount of frames that were skipped because nothing changed.
+     *
+     * @return The amount of skipped frames.
+     */
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+
+    /**
+     * Gets how long key presses took from being captured on the AWT
+     * event thread to the first frame showing them being presented.
+     *
+     * @return The input-to-display latency of every key press so far.
+     */
+    @Nonnull
+    public LatencyHistogram getInputLatency() {
+        return inputLatency;
+    }
+
+    /**
+     * Gets the amount of pixels of the back buffer that were repainted last frame.
+     * <br />
+     * This is the total area of the {@link DirtyRegion dirty regions},
+     * and does not include the final copy to the {@link View}.
+     *
+     * @return The amount of pixels repainted last frame.
+     */
+    public long getRepaintedPixels() {
+        return renderer.getRepaintedPixels();
+    }
+
+    /**
+     * Gets the area of the {@link View} the back buffer is copied to.
+     * <br />
+     * In {@link RenderMode#FRAMEBUFFER}, the framebuffer is scaled up
+     * as much as possible while keeping its aspect ratio, and is centered
+     * within the {@link View}. Otherwise, this is the whole {@link View}.
+     *
+     * @return The area of the {@link View} the back buffer is drawn to.
+     */
+    @Nonnull
+    public Rectangle getFrameBounds() {
+        if (!mode.isFramebuffer())
+            return new Rectangle(getWidth(), getHeight());
+        int frameWidth = FRAME_RESOLUTION.getWidth();
+        int frameHeight = FRAME_RESOLUTION.getHeight();
+        double scale = Math.min((double) getWidth() / frameWidth, (double) getHeight() / frameHeight);
+        int width = (int) Math.round(frameWidth * scale);
+        int height = (int) Math.round(frameHeight * scale);
+        return new Rectangle((getWidth() - width) / 2, (getHeight() - height) / 2, width, height);
+    }
+
+    /**
+     * Gets the {@link RenderMode} of the {@link View}.
+     *
+     * @return The {@link RenderMode} of the {@link View}.
+     */
+    @Nonnull
+    public RenderMode getRenderMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the back buffer, creating it if it does not exist.
+     * <br />
+     * In {@link RenderMode#FRAMEBUFFER}, the back buffer is always
+     * the size of the framebuffer. Otherwise, it is the size of the
+     * {@link View} and is recreated whenever the {@link View} is resized.
+     *
+     * @return The back buffer.
+     */
+    private BufferedImage getFrame() {
+        int width = mode.isFramebuffer() ? FRAME_RESOLUTION.getWidth() : Math.max(1, getWidth());
+        int height = mode.isFramebuffer() ? FRAME_RESOLUTION.getHeight() : Math.max(1, getHeight());
+        this.frame = renderer.getFrame(width, height, getGraphicsConfiguration());
+        return frame;
+    }
+
+    /**
+     * Outlines the {@link DirtyRegion dirty regions} of the current frame
+     * and shows the {@link #getRepaintedPixels() amount of pixels repainted}.
+     * <br />
+     * Only used when {@link Constants#DEBUG_DIRTY_REGIONS} is enabled. The
+     * outlines are drawn over the copied back buffer, not onto it, so they
+     * only last for a single frame.
+     *
+     * @param graphics The graphics object of the {@link View}.
+     * @param bounds   The area the back buffer was copied to.
+     */
+    private void drawDamage(Graphics2D graphics, Rectangle bounds) {
+        double scale = (double) bounds.width / frame.getWidth();
+        graphics.setColor(DEBUG_OUTLINE);
+        for (Rectangle region : renderer.getDamage().getRectangles()) {
+            int x = bounds.x + (int) (region.x * scale);
+            int y = bounds.y + (int) (region.y * scale);
+            int width = (int) Math.ceil(region.width * scale);
+            int height = (int) Math.ceil(region.height * scale);
+            graphics.drawRect(x, y, width - 1, height - 1);
+        }
+        graphics.drawString(renderer.getRepaintedPixels() + " px", bounds.x + 4, bounds.y + 14);
     }
 
     /**
@@ -78,6 +326,7 @@ public final class View extends Canvas implements FocusListener {
      *
      * @return The current {@link Scene} of the {@link View}.
      */
+    @Override
     public synchronized Scene getScene() {
         return scene.get();
     }
@@ -96,6 +345,7 @@ public final class View extends Canvas implements FocusListener {
      *
      * @param scene The new scene to set for the view.
      */
+    @Override
     public synchronized void setScene(@Nonnull Scene scene) {
         Validator.requireNotNull(scene, "Given scene is null!");
         Scene current = getScene();
@@ -105,6 +355,7 @@ public final class View extends Canvas implements FocusListener {
             current.onUnload();
         }
         this.scene.set(scene);
+        scene.attach(this);
         KEYBOARD_MANAGER.addKeyEventDispatcher(scene);
         scene.onLoad();
     }
@@ -113,7 +364,7 @@ public final class View extends Canvas implements FocusListener {
      * Called by the {@link Window} when
      * the {@link Window} has lost focus.
      * <br />
-     * Passed on to the {@link Scene}.
+     * Queued for the {@link Scene} to handle on the game thread.
      *
      * @param event The focus event.
      */
@@ -124,14 +375,14 @@ public final class View extends Canvas implements FocusListener {
         Scene scene = getScene();
         if (scene == null)
             return;
-        scene.focusLost(event);
+        scene.post(InputEvent.focus(event));
     }
 
     /**
      * Called by the {@link Window} when
      * the {@link Window} has gained focus.
      * <br />
-     * Passed on to the {@link Scene}.
+     * Queued for the {@link Scene} to handle on the game thread.
      *
      * @param event The focus event.
      */
@@ -142,7 +393,7 @@ public final class View extends Canvas implements FocusListener {
         Scene scene = getScene();
         if (scene == null)
             return;
-        scene.focusGained(event);
+        scene.post(InputEvent.focus(event));
     }
 
     /**
@@ -5,11 +5,16 @@ import dev.glitchedcoder.hangman.entity.Location;
 import dev.glitchedcoder.hangman.json.Config;
 import dev.glitchedcoder.hangman.ui.Texture;
 import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.LatencyHistogram;
+import dev.glitchedcoder.hangman.util.Validator;
 
 import javax.annotation.Nonnull;
 import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 import java.awt.Dimension;
+import java.awt.DisplayMode;
+import java.awt.GraphicsConfiguration;
 import java.awt.Insets;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
@@ -24,18 +29,19 @@ public final class Window extends JFrame implements Runnable {
     private volatile boolean running;
 
     private final View view;
+    private final FramePacer ticks;
+    private final FramePacer frames;
 
-    private static final short MS_IN_S = 1000;
-    private static final byte FRAMES_PER_SECOND = 10;
+    private static final int DEFAULT_REFRESH_RATE = 60;
 
     public Window(View view) {
         this.view = view;
         this.running = false;
         add(view);
         adjustResolution(Config.getConfig().getResolution());
-        setResizable(false);
+        setResizable(view.getRenderMode().isFramebuffer());
         setTitle(Constants.TITLE);
-        setIconImage(Texture.EXECUTIONER.asImage());
+        setIconImage(Texture.EXECUTIONER.asSharedImage());
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         addFocusListener(view);
         addWindowListener(new WindowAdapter() {
@@ -46,43 +52,138 @@ public final class Window extends JFrame implements Runnable {
         });
         // center the frame on the screen
         setLocationRelativeTo(null);
+        // catch up on at most half a second of ticks, but never draw the same frame twice
+        this.ticks = new FramePacer(Constants.TICK_RATE, Math.max(1, Constants.TICK_RATE / 2));
+        this.frames = new FramePacer(getRenderRate(), 1);
     }
 
+    /**
+     * Runs the game thread.
+     * <br />
+     * By default, the game thread both ticks and draws the {@link View}.
+     * With {@link Constants#RENDER_THREAD} enabled, the game thread only
+     * ticks, publishing a {@link SceneSnapshot} after ticking, while
+     * a separate render thread draws the latest snapshot at the refresh
+     * rate of the display, so neither can hold up the other.
+     * <br />
+     * Both are paced by a {@link FramePacer}, at {@link Constants#TICK_RATE}
+     * and {@link Constants#RENDER_RATE} respectively.
+     */
     @Override
     public void run() {
         this.running = true;
-        final double TIME_BETWEEN_UPDATES = 1000000000D / FRAMES_PER_SECOND;
-        double lastUpdate = System.nanoTime();
-        long timer = System.currentTimeMillis();
-        byte updateCount = 0;
         setVisible(true);
         requestFocus();
-        while (running) {
-            double now = System.nanoTime();
-            while (now - lastUpdate > TIME_BETWEEN_UPDATES && updateCount < FRAMES_PER_SECOND) {
-                view.tick(updateCount);
-                lastUpdate += TIME_BETWEEN_UPDATES;
-                updateCount++;
+        Thread renderer = null;
+        if (Constants.RENDER_THREAD) {
+            renderer = new Thread(this::render, "Hangman Render");
+            renderer.start();
+        }
+        simulate(renderer == null);
+        if (renderer != null) {
+            try {
+                renderer.join();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+                Thread.currentThread().interrupt();
             }
-            if (now - lastUpdate > TIME_BETWEEN_UPDATES)
-                lastUpdate = now - TIME_BETWEEN_UPDATES;
-            view.draw();
-            while (now - lastUpdate < TIME_BETWEEN_UPDATES) {
-                Thread.yield();
-                try {
-                    Thread.sleep(2);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                    Thread.currentThread().interrupt();
-                }
-                now = System.nanoTime();
+        }
+        view.close();
+    }
+
+    /**
+     * Ticks the {@link View} at {@link Constants#TICK_RATE} until {@link #stop() stopped}.
+     * <br />
+     * The tick count passed to the {@link View} wraps around every second.
+     *
+     * @param draw True to also draw the {@link View} on this thread,
+     *             false to {@link View#publish() publish} snapshots for the render thread.
+     */
+    private void simulate(boolean draw) {
+        long now = System.nanoTime();
+        ticks.start(now);
+        // the render thread owns the frame pacer when there is one
+        if (draw)
+            frames.start(now);
+        byte count = 0;
+        while (running) {
+            now = System.nanoTime();
+            int due = ticks.poll(now);
+            for (int i = 0; i < due; i++) {
+                view.tick(count);
+                count = (byte) ((count + 1) % ticks.getRate());
             }
-            if ((System.currentTimeMillis() - timer) > MS_IN_S) {
-                timer = System.currentTimeMillis();
-                updateCount = 0;
+            if (draw) {
+                if (frames.poll(now) > 0)
+                    view.draw();
+                ticks.await(Math.min(ticks.getNext(), frames.getNext()));
+            } else {
+                if (due > 0)
+                    view.publish();
+                ticks.await(ticks.getNext());
             }
         }
-        view.close();
+    }
+
+    /**
+     * Draws the latest snapshot of the {@link View} at
+     * {@link Constants#RENDER_RATE} until {@link #stop() stopped}.
+     */
+    private void render() {
+        frames.start(System.nanoTime());
+        while (running) {
+            if (frames.poll(System.nanoTime()) > 0)
+                view.drawLatest();
+            frames.await(frames.getNext());
+        }
+    }
+
+    /**
+     * Gets how late each tick ran compared to when it was due.
+     *
+     * @return The tick jitter histogram.
+     */
+    @Nonnull
+    public LatencyHistogram getTickJitter() {
+        return ticks.getJitter();
+    }
+
+    /**
+     * Gets how late each frame was drawn compared to when it was due.
+     *
+     * @return The frame jitter histogram.
+     */
+    @Nonnull
+    public LatencyHistogram getFrameJitter() {
+        return frames.getJitter();
+    }
+
+    /**
+     * Gets how many times per second the {@link View} should be drawn.
+     * <br />
+     * Unless set by {@link Constants#RENDER_RATE}, this is once
+     * per tick, or once per refresh of the display when drawing
+     * on a separate render thread.
+     *
+     * @return The amount of frames to draw per second.
+     */
+    private int getRenderRate() {
+        if (Constants.RENDER_RATE > 0)
+            return Constants.RENDER_RATE;
+        return Constants.RENDER_THREAD ? getRefreshRate() : Constants.TICK_RATE;
+    }
+
+    /**
+     * Gets the refresh rate of the display the {@link Window} is on.
+     *
+     * @return The refresh rate in hertz, or {@link #DEFAULT_REFRESH_RATE} if unknown.
+     */
+    private int getRefreshRate() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration == null)
+            return DEFAULT_REFRESH_RATE;
+        int rate = configuration.getDevice().getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : rate;
     }
 
     /**
@@ -95,17 +196,64 @@ public final class Window extends JFrame implements Runnable {
         this.running = false;
     }
 
+    /**
+     * Gets the {@link RenderMode} the {@link Window} was started with.
+     * <br />
+     * This may differ from the {@link RenderMode} in the {@link Config}
+     * if it was changed since, as changing it requires a restart.
+     *
+     * @return The active {@link RenderMode}.
+     */
+    @Nonnull
+    public RenderMode getRenderMode() {
+        return view.getRenderMode();
+    }
+
+    /**
+     * Changes the {@link Resolution} of the {@link Window} without restarting.
+     * <br />
+     * Only possible in {@link RenderMode#FRAMEBUFFER}, since the
+     * {@link Scene}s are drawn at the same size regardless of the
+     * {@link Resolution}, so only the {@link Window} is resized.
+     *
+     * @param resolution The new resolution.
+     * @throws IllegalArgumentException Thrown if the given resolution is null.
+     * @throws IllegalArgumentException Thrown if not rendering in {@link RenderMode#FRAMEBUFFER}.
+     */
+    public void setResolution(@Nonnull Resolution resolution) {
+        Validator.requireNotNull(resolution, "Given resolution is null!");
+        Validator.checkArgument(view.getRenderMode().isFramebuffer(),
+                "Resolution can only be changed at runtime in {} mode.", RenderMode.FRAMEBUFFER);
+        SwingUtilities.invokeLater(() -> {
+            adjustResolution(resolution);
+            setLocationRelativeTo(null);
+        });
+    }
+
     /**
      * Adjusts the {@link Resolution} of the {@link Window}.
      * <br />
      * Finds the {@link Dimension}s of the usable window
      * and subsequently passes these {@link Dimension}s
      * off to {@link View}, {@link Scene}, and {@link Location}.
+     * <br />
+     * In {@link RenderMode#FRAMEBUFFER}, the {@link View} itself
+     * is sized to the {@link Resolution}, while the {@link Scene}
+     * and {@link Location} always use the framebuffer's size.
      *
      * @param resolution The new resolution.
      */
     private void adjustResolution(@Nonnull Resolution resolution) {
         Dimension d = new Dimension(resolution.getWidth(), resolution.getHeight());
+        if (view.getRenderMode().isFramebuffer()) {
+            view.setPreferredSize(d);
+            pack();
+            Resolution base = View.FRAME_RESOLUTION;
+            Dimension frame = new Dimension(base.getWidth(), base.getHeight());
+            Scene.adjustDimensions(frame);
+            Location.adjustDimensions(frame);
+            return;
+        }
         setSize(d);
         setPreferredSize(d);
         pack();
@@ -0,0 +1,329 @@
+package dev.glitchedcoder.hangman.word;
+
+import dev.glitchedcoder.hangman.json.Word;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * An offline list of words, used when the {@link Constants#API_URL API} can't or shouldn't be used.
+ * <br />
+ * The words are stored on disk in {@link #FILE}, grouped by length and
+ * sorted within each group. Every word in a group takes exactly as many
+ * bytes as its length, so with the offset of each group stored up front,
+ * any word can be found with a single read. The file is memory-mapped
+ * rather than loaded, so only the pages actually read are ever in memory.
+ * <br />
+ * The file is built once, the first time the {@link Dictionary} is needed,
+ * from {@link #USER_LIST} if it exists, or from the list bundled with the
+ * game otherwise, and rebuilt whenever the list it was built from changes.
+ * <br />
+ * A {@link Dictionary} is read-only, so it is safe to use from any thread.
+ */
+public final class Dictionary {
+
+    private final int[] counts;
+    private final int[] offsets;
+    private final MappedByteBuffer buffer;
+
+    private static Dictionary dictionary;
+
+    /**
+     * The file the {@link Dictionary} is stored in.
+     */
+    public static final File FILE = new File(Constants.APPDATA_DIR, "dictionary.bin");
+    /**
+     * A list of words, one per line, to use instead of the bundled list.
+     */
+    public static final File USER_LIST = new File(Constants.APPDATA_DIR, "words.txt");
+
+    private static final int MAGIC = 0x484D4443;
+    private static final int VERSION = 1;
+    private static final String BUNDLED_LIST = "/words/words.txt";
+    private static final int GROUPS = Constants.MAX_WORD_LENGTH - Constants.MIN_WORD_LENGTH + 1;
+    // magic, version, source checksum, then an offset and count per group
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES + GROUPS * Integer.BYTES * 2;
+
+    private Dictionary(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.offsets = new int[GROUPS];
+        this.counts = new int[GROUPS];
+        int position = Integer.BYTES * 2 + Long.BYTES;
+        for (int i = 0; i < GROUPS; i++) {
+            this.offsets[i] = buffer.getInt(position);
+            this.counts[i] = buffer.getInt(position + Integer.BYTES);
+            position += Integer.BYTES * 2;
+            int length = Constants.MIN_WORD_LENGTH + i;
+            Validator.checkArgument(offsets[i] >= HEADER_SIZE && (long) offsets[i] + (long) counts[i] * length <= buffer.capacity(),
+                    "Dictionary group of length {} is out of bounds.", length);
+        }
+    }
+
+    /**
+     * Gets the {@link Dictionary}, building and loading it if needed.
+     *
+     * @return The {@link Dictionary}, or {@code null} if it could not be built or loaded.
+     */
+    @Nullable
+    public static synchronized Dictionary getDictionary() {
+        if (dictionary != null)
+            return dictionary;
+        try {
+            long checksum = getSourceChecksum();
+            MappedByteBuffer buffer = map(checksum);
+            if (buffer == null) {
+                build(checksum);
+                buffer = Validator.requireNotNull(map(checksum));
+            }
+            dictionary = new Dictionary(buffer);
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+        return dictionary;
+    }
+
+    /**
+     * Gets a random {@link Word} of the given length.
+     * <br />
+     * The length is constrained between
+     * {@link Constants#MIN_WORD_LENGTH} and {@link Constants#MAX_WORD_LENGTH}.
+     *
+     * @param length The length of the word.
+     * @return A random {@link Word}, or {@code null} if there are no words of that length.
+     */
+    @Nullable
+    public Word randomWord(int length) {
+        length = Validator.constrain(length, Constants.MIN_WORD_LENGTH, Constants.MAX_WORD_LENGTH);
+        int count = size(length);
+        if (count == 0)
+            return null;
+        return new Word(get(length, ThreadLocalRandom.current().nextInt(count)));
+    }
+
+    /**
+     * Gets the word of the given length at the given index.
+     * <br />
+     * Words of the same length are sorted alphabetically.
+     *
+     * @param length The length of the word.
+     * @param index  The index of the word among words of the same length.
+     * @return The word.
+     * @throws IllegalArgumentException Thrown if the index is out of bounds.
+     */
+    @Nonnull
+    public String get(int length, int index) {
+        int group = group(length);
+        Validator.checkArgument(index >= 0 && index < counts[group], "Given index {} is out of bounds.", index);
+        byte[] bytes = new byte[length];
+        int position = offsets[group] + index * length;
+        for (int i = 0; i < length; i++)
+            bytes[i] = buffer.get(position + i);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Gets the amount of words of the given length.
+     *
+     * @param length The length of the words.
+     * @return The amount of words, or {@code 0} if the length is out of range.
+     */
+    public int size(int length) {
+        if (length < Constants.MIN_WORD_LENGTH || length > Constants.MAX_WORD_LENGTH)
+            return 0;
+        return counts[group(length)];
+    }
+
+    /**
+     * Gets whether the given word is in the {@link Dictionary}.
+     * <br />
+     * Uses a binary search over the words of the same length.
+     *
+     * @param word The word, in lowercase.
+     * @return True if the word is in the {@link Dictionary}, false otherwise.
+     */
+    public boolean contains(@Nonnull String word) {
+        Validator.requireNotNull(word, "Given word is null!");
+        int length = word.length();
+        if (size(length) == 0)
+            return false;
+        int group = group(length);
+        int low = 0;
+        int high = counts[group] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compare = compare(offsets[group] + middle * length, word);
+            if (compare < 0)
+                low = middle + 1;
+            else if (compare > 0)
+                high = middle - 1;
+            else
+                return true;
+        }
+        return false;
+    }
+
+    private int compare(int position, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            int difference = (buffer.get(position + i) & 0xFF) - word.charAt(i);
+            if (difference != 0)
+                return difference;
+        }
+        return 0;
+    }
+
+    private static int group(int length) {
+        Validator.checkArgument(length >= Constants.MIN_WORD_LENGTH && length <= Constants.MAX_WORD_LENGTH,
+                "Given length {} is out of range.", length);
+        return length - Constants.MIN_WORD_LENGTH;
+    }
+
+    /**
+     * Maps {@link #FILE} into memory if it exists and was built from the list with the given checksum.
+     * <br />
+     * The header is read before anything is mapped, so a file that needs to be
+     * rebuilt is never left mapped, which would stop it from being replaced on Windows.
+     *
+     * @param checksum The checksum of the list.
+     * @return The mapped file, or {@code null} if it needs to be (re)built.
+     * @throws IOException Thrown if the file could not be read.
+     */
+    @Nullable
+    private static MappedByteBuffer map(long checksum) throws IOException {
+        if (!FILE.isFile() || FILE.length() < HEADER_SIZE)
+            return null;
+        try (FileChannel channel = FileChannel.open(FILE.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2 + Long.BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) == -1)
+                    return null;
+            }
+            if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION || header.getLong(Integer.BYTES * 2) != checksum)
+                return null;
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Builds {@link #FILE} from the user's list, or the bundled list if there is none.
+     * <br />
+     * Only lines made up of {@link Constants#MIN_WORD_LENGTH} to {@link Constants#MAX_WORD_LENGTH}
+     * letters are kept, in lowercase and without duplicates. The file is written
+     * to a temporary file first, so a half-written file is never mapped.
+     *
+     * @param checksum The checksum of the list, stored to tell when it changes.
+     * @throws IOException Thrown if the list could not be read or the file could not be written.
+     */
+    private static void build(long checksum) throws IOException {
+        List<TreeSet<String>> groups = new ArrayList<>(GROUPS);
+        for (int i = 0; i < GROUPS; i++)
+            groups.add(new TreeSet<>());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(openSource(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase(Locale.ROOT);
+                if (isValid(word))
+                    groups.get(word.length() - Constants.MIN_WORD_LENGTH).add(word);
+            }
+        }
+        File parent = FILE.getParentFile();
+        if (!parent.exists())
+            Validator.checkArgument(parent.mkdirs(), "Failed to create parent dir of dictionary!");
+        File temp = new File(parent, FILE.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(checksum);
+            int offset = HEADER_SIZE;
+            for (int i = 0; i < GROUPS; i++) {
+                out.writeInt(offset);
+                out.writeInt(groups.get(i).size());
+                offset += groups.get(i).size() * (Constants.MIN_WORD_LENGTH + i);
+            }
+            writeWords(out, groups);
+        }
+        try {
+            Files.move(temp.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeWords(OutputStream out, List<TreeSet<String>> groups) throws IOException {
+        for (TreeSet<String> group : groups) {
+            for (String word : group)
+                out.write(word.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static boolean isValid(String word) {
+        if (word.length() < Constants.MIN_WORD_LENGTH || word.length() > Constants.MAX_WORD_LENGTH)
+            return false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z')
+                return false;
+        }
+        return true;
+    }
+
+    private static InputStream openSource() throws IOException {
+        if (USER_LIST.isFile())
+            return new FileInputStream(USER_LIST);
+        InputStream in = Dictionary.class.getResourceAsStream(BUNDLED_LIST);
+        if (in == null)
+            throw new IOException("Bundled word list " + BUNDLED_LIST + " is missing.");
+        return in;
+    }
+
+    /**
+     * Gets a checksum that changes whenever the list the {@link Dictionary} is built from changes.
+     * <br />
+     * The user's list is identified by its size and when it was last modified,
+     * so a list of any size doesn't need to be read on every start. The bundled
+     * list is small, so its contents are checked instead.
+     *
+     * @return The checksum.
+     * @throws IOException Thrown if the bundled list could not be read.
+     */
+    private static long getSourceChecksum() throws IOException {
+        CRC32 crc = new CRC32();
+        if (USER_LIST.isFile()) {
+            String source = "user:" + USER_LIST.length() + ":" + USER_LIST.lastModified();
+            crc.update(source.getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+        try (InputStream in = openSource()) {
+            byte[] bytes = new byte[8192];
+            int read;
+            while ((read = in.read(bytes)) != -1)
+                crc.update(bytes, 0, read);
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,53 @@
+package dev.glitchedcoder.hangman.word;
+
+/**
+ * Represents where {@link dev.glitchedcoder.hangman.json.Word}s come from.
+ */
+public enum WordSource {
+
+    /**
+     * Words are requested from the {@link dev.glitchedcoder.hangman.util.Constants#API_URL API},
+     * falling back to the offline {@link Dictionary} if the API can't be reached.
+     */
+    ONLINE("ONLINE WORDS"),
+    /**
+     * Words only come from the offline {@link Dictionary},
+     * so no internet connection or API key is needed.
+     */
+    OFFLINE("OFFLINE WORDS"),
+    /**
+     * Words only come from the {@link dev.glitchedcoder.hangman.util.Constants#API_URL API}.
+     */
+    API_ONLY("API WORDS ONLY");
+
+    public static final WordSource[] values = values();
+
+    private final String name;
+
+    WordSource(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets whether words are requested from the API.
+     *
+     * @return True if not {@link #OFFLINE}, false otherwise.
+     */
+    public boolean usesApi() {
+        return this != OFFLINE;
+    }
+
+    /**
+     * Gets whether words can come from the offline {@link Dictionary}.
+     *
+     * @return True if not {@link #API_ONLY}, false otherwise.
+     */
+    public boolean usesDictionary() {
+        return this != API_ONLY;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,411 @@
+package dev.glitchedcoder.hangman.word;
+
+import dev.glitchedcoder.hangman.json.Word;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local store of every {@link Word} fetched from the {@link Constants#API_URL API},
+ * used when the API is slow, ratelimited or down.
+ * <br />
+ * {@link Word}s are appended to {@link #FILE} as they are fetched, once each,
+ * as a length, the time the {@link Word} was last seen, and the word itself.
+ * The whole store is small enough to be kept in memory, grouped by length, so
+ * a {@link Word} of any length can be {@link #take(int) taken} without reading the file.
+ * <br />
+ * {@link Word}s are handed out least recently seen first. Within each length,
+ * the {@link Word}s not seen within {@link #RECENT} are shuffled through in a
+ * random order, and once all of them have been taken, the least recently seen
+ * half is shuffled through again. When a length grows past {@link #MAX_WORDS},
+ * the file is compacted in the background, keeping only the least recently seen.
+ */
+public final class WordStore {
+
+    private FileChannel channel;
+
+    private final ExecutorService compactor;
+    private final Map<String, Entry> entries;
+    private final Group[] groups;
+
+    private long end;
+    private boolean compacting;
+
+    private static WordStore store;
+
+    /**
+     * The file the {@link WordStore} is stored in.
+     */
+    public static final File FILE = new File(Constants.APPDATA_DIR, "wordstore.bin");
+    /**
+     * The most {@link Word}s of each length that are kept.
+     */
+    public static final int MAX_WORDS = 256;
+    /**
+     * How long a {@link Word} is considered recently seen.
+     */
+    public static final long RECENT = TimeUnit.DAYS.toMillis(3);
+
+    // the amount of words over the maximum before the file is compacted
+    private static final int SLACK = MAX_WORDS / 4;
+    private static final int GROUPS = Constants.MAX_WORD_LENGTH - Constants.MIN_WORD_LENGTH + 1;
+    private static final int RECORD_HEADER = Byte.BYTES + Long.BYTES;
+
+    private WordStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.entries = new HashMap<>();
+        this.groups = new Group[GROUPS];
+        for (int i = 0; i < GROUPS; i++)
+            this.groups[i] = new Group();
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Hangman Word Store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        load();
+    }
+
+    /**
+     * Gets the {@link WordStore}, loading it if needed.
+     *
+     * @return The {@link WordStore}, or {@code null} if it could not be opened.
+     */
+    @Nullable
+    public static synchronized WordStore getStore() {
+        if (store != null)
+            return store;
+        FileChannel channel = null;
+        try {
+            File parent = FILE.getParentFile();
+            if (!parent.exists())
+                Validator.checkArgument(parent.mkdirs(), "Failed to create parent dir of word store!");
+            channel = FileChannel.open(FILE.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            store = new WordStore(channel);
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            close(channel);
+        }
+        return store;
+    }
+
+    /**
+     * Adds a {@link Word} that was just fetched, marking it as seen.
+     * <br />
+     * A {@link Word} that is already stored is only marked as seen.
+     *
+     * @param word The word to add.
+     * @throws IllegalArgumentException Thrown if the given word is null.
+     */
+    public synchronized void add(@Nonnull Word word) {
+        Validator.requireNotNull(word, "Given word is null!");
+        String string = word.getWord();
+        if (string == null)
+            return;
+        string = string.toLowerCase(Locale.ROOT);
+        if (!isValid(string))
+            return;
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(string);
+        if (entry != null) {
+            see(entry, now);
+            return;
+        }
+        entry = new Entry(string, end, now);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + string.length());
+        record.put((byte) string.length()).putLong(now).put(string.getBytes(StandardCharsets.US_ASCII)).flip();
+        try {
+            write(record, end);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        this.end += record.capacity();
+        this.entries.put(string, entry);
+        Group group = getGroup(string.length());
+        group.add(entry);
+        if (group.size() > MAX_WORDS + SLACK && !compacting) {
+            this.compacting = true;
+            compactor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Takes the least recently seen {@link Word} of the given length, marking it as seen.
+     * <br />
+     * The length is constrained between
+     * {@link Constants#MIN_WORD_LENGTH} and {@link Constants#MAX_WORD_LENGTH}.
+     *
+     * @param length The length of the word.
+     * @return A {@link Word}, or {@code null} if none of that length are stored.
+     */
+    @Nullable
+    public synchronized Word take(int length) {
+        length = Validator.constrain(length, Constants.MIN_WORD_LENGTH, Constants.MAX_WORD_LENGTH);
+        Group group = getGroup(length);
+        if (group.size() == 0)
+            return null;
+        long now = System.currentTimeMillis();
+        if (group.fresh == 0)
+            group.refill(now);
+        Entry entry = group.get(ThreadLocalRandom.current().nextInt(group.fresh));
+        see(entry, now);
+        return new Word(entry.word);
+    }
+
+    /**
+     * Gets the amount of {@link Word}s of the given length that are stored.
+     *
+     * @param length The length of the words.
+     * @return The amount of words, or {@code 0} if the length is out of range.
+     */
+    public synchronized int size(int length) {
+        if (length < Constants.MIN_WORD_LENGTH || length > Constants.MAX_WORD_LENGTH)
+            return 0;
+        return getGroup(length).size();
+    }
+
+    /**
+     * Marks the given {@link Entry} as seen, both in memory and in the file.
+     */
+    private void see(Entry entry, long now) {
+        entry.seen = now;
+        getGroup(entry.word.length()).retire(entry);
+        ByteBuffer seen = ByteBuffer.allocate(Long.BYTES);
+        seen.putLong(now).flip();
+        try {
+            write(seen, entry.position + Byte.BYTES);
+        } catch (IOException e) {
+            // only affects which words are handed out after a restart
+            e.printStackTrace();
+        }
+    }
+
+    private Group getGroup(int length) {
+        return groups[length - Constants.MIN_WORD_LENGTH];
+    }
+
+    /**
+     * Reads every record in {@link #FILE}.
+     * <br />
+     * A record cut off by the game closing while writing is dropped.
+     *
+     * @throws IOException Thrown if the file could not be read.
+     */
+    private void load() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0)
+                break;
+        }
+        buffer.flip();
+        long position = 0;
+        while (buffer.remaining() >= RECORD_HEADER) {
+            int length = buffer.get(buffer.position()) & 0xFF;
+            if (buffer.remaining() < RECORD_HEADER + length)
+                break;
+            buffer.get();
+            long seen = buffer.getLong();
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            String word = new String(bytes, StandardCharsets.US_ASCII);
+            if (isValid(word) && !entries.containsKey(word)) {
+                Entry entry = new Entry(word, position, seen);
+                entries.put(word, entry);
+                getGroup(length).add(entry);
+            }
+            position += RECORD_HEADER + length;
+        }
+        this.end = position;
+        if (channel.size() > end)
+            channel.truncate(end);
+        long now = System.currentTimeMillis();
+        for (Group group : groups)
+            group.refill(now);
+    }
+
+    /**
+     * Drops the most recently seen {@link Word}s of every length
+     * with more than {@link #MAX_WORDS}, and rewrites {@link #FILE}.
+     * <br />
+     * The file is small, so the store is locked for the whole rewrite.
+     */
+    private synchronized void compact() {
+        this.compacting = false;
+        long now = System.currentTimeMillis();
+        File temp = new File(FILE.getParentFile(), FILE.getName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Group group : groups) {
+                group.trim(entries);
+                for (Entry entry : group.entries) {
+                    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + entry.word.length());
+                    record.put((byte) entry.word.length()).putLong(entry.seen)
+                            .put(entry.word.getBytes(StandardCharsets.US_ASCII)).flip();
+                    while (record.hasRemaining())
+                        out.write(record);
+                    entry.position = position;
+                    position += record.capacity();
+                }
+                group.refill(now);
+            }
+            this.end = position;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        try {
+            try {
+                Files.move(temp.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            // the open channel still points at the old file, so it is rewritten as well
+            FileChannel fresh = FileChannel.open(FILE.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            close(channel);
+            this.channel = fresh;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+    }
+
+    private static boolean isValid(String word) {
+        if (word.length() < Constants.MIN_WORD_LENGTH || word.length() > Constants.MAX_WORD_LENGTH)
+            return false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z')
+                return false;
+        }
+        return true;
+    }
+
+    private static void close(@Nullable FileChannel channel) {
+        if (channel == null)
+            return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * A stored word, where it is in the file, and when it was last seen.
+     */
+    private static final class Entry {
+
+        private int index;
+        private long seen;
+        private long position;
+
+        private final String word;
+
+        private Entry(String word, long position, long seen) {
+            this.word = word;
+            this.position = position;
+            this.seen = seen;
+        }
+    }
+
+    /**
+     * The stored words of a single length.
+     * <br />
+     * The first {@link #fresh} entries are the ones that can be handed out,
+     * and an entry is moved behind them once seen, so picking one is a
+     * single random index and a swap.
+     */
+    private static final class Group {
+
+        private int fresh;
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        private void add(Entry entry) {
+            entry.index = entries.size();
+            entries.add(entry);
+        }
+
+        private Entry get(int index) {
+            return entries.get(index);
+        }
+
+        private int size() {
+            return entries.size();
+        }
+
+        /**
+         * Moves the given entry out of the entries that can be handed out.
+         */
+        private void retire(Entry entry) {
+            if (entry.index >= fresh)
+                return;
+            this.fresh--;
+            swap(entry.index, fresh);
+        }
+
+        /**
+         * Makes every entry not seen recently available to be handed out again,
+         * or the least recently seen half if every entry was seen recently.
+         */
+        private void refill(long now) {
+            entries.sort(Comparator.comparingLong(entry -> entry.seen));
+            int stale = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                entry.index = i;
+                if (now - entry.seen >= RECENT)
+                    stale++;
+            }
+            this.fresh = stale > 0 ? stale : (entries.size() + 1) / 2;
+        }
+
+        /**
+         * Drops the most recently seen entries over {@link #MAX_WORDS}.
+         */
+        private void trim(Map<String, Entry> all) {
+            if (entries.size() <= MAX_WORDS)
+                return;
+            entries.sort(Comparator.comparingLong(entry -> entry.seen));
+            List<Entry> dropped = entries.subList(MAX_WORDS, entries.size());
+            for (Entry entry : dropped)
+                all.remove(entry.word);
+            dropped.clear();
+        }
+
+        private void swap(int i, int j) {
+            Entry a = entries.get(i);
+            Entry b = entries.get(j);
+            entries.set(i, b);
+            entries.set(j, a);
+            a.index = j;
+            b.index = i;
+        }
+    }
+}
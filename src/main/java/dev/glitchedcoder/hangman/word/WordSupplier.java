@@ -0,0 +1,241 @@
+package dev.glitchedcoder.hangman.word;
+
+import dev.glitchedcoder.hangman.json.Config;
+import dev.glitchedcoder.hangman.json.Word;
+import dev.glitchedcoder.hangman.util.ApiRequest;
+import dev.glitchedcoder.hangman.util.Constants;
+import dev.glitchedcoder.hangman.util.Validator;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Supplies {@link Word}s without ever blocking the caller.
+ * <br />
+ * A small buffer of {@link Word}s is kept for each word length, plus
+ * one of {@link Word}s with random lengths, and refilled in the background
+ * whenever a {@link Word} is taken. A {@link Word} that is already buffered
+ * is handed out immediately, otherwise the returned {@link CompletableFuture}
+ * completes as soon as the next {@link Word} of that length is fetched.
+ * <br />
+ * Every request to the {@link Constants#API_URL API} is made one after
+ * another on a single background thread, the same as if each {@link Word}
+ * was requested by hand, so the API's ratelimit is not hit any harder.
+ * <br />
+ * If a request has waited longer than {@link #SLOW_FETCH} because the API is slow
+ * or ratelimited, it is handed a {@link Word} from the {@link WordStore} instead,
+ * and the {@link Word} still being fetched is buffered for a later request.
+ */
+public final class WordSupplier {
+
+    private final Pool random;
+    private final Pool[] lengths;
+    private final ExecutorService fetcher;
+
+    private static WordSupplier supplier;
+
+    /**
+     * How long, in milliseconds, a request waits for the API
+     * before it is handed a {@link Word} from the {@link WordStore}.
+     */
+    public static final long SLOW_FETCH = 1500;
+
+    private static final int BUFFER_SIZE = 2;
+    private static final Executor SLOW_FETCH_TIMER = CompletableFuture.delayedExecutor(SLOW_FETCH, TimeUnit.MILLISECONDS);
+
+    private WordSupplier() {
+        this.fetcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Hangman Word Fetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.random = new Pool(ApiRequest::randomWordLength);
+        this.lengths = new Pool[Constants.MAX_WORD_LENGTH - Constants.MIN_WORD_LENGTH + 1];
+        for (int i = 0; i < lengths.length; i++) {
+            int length = Constants.MIN_WORD_LENGTH + i;
+            this.lengths[i] = new Pool(() -> length);
+        }
+    }
+
+    /**
+     * Gets the {@link WordSupplier}, creating it if it does not exist.
+     *
+     * @return The {@link WordSupplier}.
+     */
+    public static synchronized WordSupplier getSupplier() {
+        if (supplier == null)
+            supplier = new WordSupplier();
+        return supplier;
+    }
+
+    /**
+     * Requests a {@link Word} of the given length.
+     * <br />
+     * The length is constrained between {@link Constants#MIN_WORD_LENGTH}
+     * and {@link Constants#MAX_WORD_LENGTH}. The returned {@link CompletableFuture}
+     * completes on the background thread, or immediately if a {@link Word} was
+     * buffered, and completes exceptionally if the {@link Word} could not be fetched.
+     *
+     * @param length The length of the word.
+     * @return A {@link CompletableFuture} of the {@link Word}.
+     */
+    @Nonnull
+    public CompletableFuture<Word> request(int length) {
+        return getPool(length).take();
+    }
+
+    /**
+     * Requests a {@link Word} of a {@link ApiRequest#randomWordLength() random length}.
+     *
+     * @return A {@link CompletableFuture} of the {@link Word}.
+     * @see #request(int)
+     */
+    @Nonnull
+    public CompletableFuture<Word> requestRandom() {
+        return random.take();
+    }
+
+    /**
+     * Starts filling the buffer of {@link Word}s of the given length,
+     * so a later {@link #request(int) request} can be handed out immediately.
+     *
+     * @param length The length of the word.
+     */
+    public void prefetch(int length) {
+        getPool(length).fill();
+    }
+
+    /**
+     * Starts filling the buffer of {@link Word}s of random lengths,
+     * so a later {@link #requestRandom() request} can be handed out immediately.
+     */
+    public void prefetchRandom() {
+        random.fill();
+    }
+
+    /**
+     * Gets the amount of {@link Word}s of the given length that are buffered.
+     *
+     * @param length The length of the word.
+     * @return The amount of buffered words.
+     */
+    public int getBuffered(int length) {
+        return getPool(length).size();
+    }
+
+    private Pool getPool(int length) {
+        length = Validator.constrain(length, Constants.MIN_WORD_LENGTH, Constants.MAX_WORD_LENGTH);
+        return lengths[length - Constants.MIN_WORD_LENGTH];
+    }
+
+    /**
+     * The buffered {@link Word}s of a single kind, along with
+     * the requests waiting for one to be fetched.
+     */
+    private final class Pool {
+
+        private int pending;
+
+        private final IntSupplier length;
+        private final Queue<Word> words;
+        private final Deque<CompletableFuture<Word>> waiting;
+
+        private Pool(IntSupplier length) {
+            this.length = length;
+            this.words = new ArrayDeque<>(BUFFER_SIZE);
+            this.waiting = new ArrayDeque<>();
+        }
+
+        private CompletableFuture<Word> take() {
+            CompletableFuture<Word> future;
+            synchronized (this) {
+                Word word = words.poll();
+                if (word != null)
+                    future = CompletableFuture.completedFuture(word);
+                else {
+                    future = new CompletableFuture<>();
+                    waiting.add(future);
+                }
+            }
+            if (!future.isDone() && Config.getConfig().getWordSource().usesApi())
+                SLOW_FETCH_TIMER.execute(() -> takeStored(future));
+            fill();
+            return future;
+        }
+
+        private void takeStored(CompletableFuture<Word> future) {
+            if (future.isDone())
+                return;
+            WordStore store = WordStore.getStore();
+            if (store == null)
+                return;
+            synchronized (this) {
+                // the fetch may have completed it in the meantime, and the stored word would be lost
+                if (!waiting.remove(future))
+                    return;
+            }
+            Word word = store.take(length.getAsInt());
+            if (word == null) {
+                synchronized (this) {
+                    // a fetch may have buffered a word while the request wasn't waiting
+                    word = words.poll();
+                    if (word == null) {
+                        // it was the oldest request by now, having waited the longest
+                        waiting.addFirst(future);
+                        return;
+                    }
+                }
+            }
+            future.complete(word);
+        }
+
+        private void fill() {
+            int missing;
+            synchronized (this) {
+                // enough to serve everything waiting, and then to buffer
+                missing = BUFFER_SIZE + waiting.size() - words.size() - pending;
+                if (missing <= 0)
+                    return;
+                this.pending += missing;
+            }
+            for (int i = 0; i < missing; i++)
+                fetcher.execute(this::fetch);
+        }
+
+        private void fetch() {
+            Word word = ApiRequest.requestWord(length.getAsInt());
+            CompletableFuture<Word> future;
+            synchronized (this) {
+                this.pending--;
+                if (word != null) {
+                    future = waiting.poll();
+                    if (future == null) {
+                        words.add(word);
+                        return;
+                    }
+                } else {
+                    // fail the oldest request rather than have it wait on fetches that will likely fail too
+                    future = waiting.poll();
+                    if (future == null)
+                        return;
+                }
+            }
+            if (word != null)
+                future.complete(word);
+            else
+                future.completeExceptionally(new IllegalStateException("Could not fetch a word from the API."));
+        }
+
+        private synchronized int size() {
+            return words.size();
+        }
+    }
+}
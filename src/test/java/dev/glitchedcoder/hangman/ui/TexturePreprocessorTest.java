@@ -0,0 +1,188 @@
+package dev.glitchedcoder.hangman.ui;
+
+import dev.glitchedcoder.hangman.json.Config;
+import dev.glitchedcoder.hangman.window.Resolution;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static java.awt.Color.TRANSLUCENT;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link TexturePreprocessor#blit(int[], int, int, int, int) blitting}
+ * gives the same pixels as drawing the image scaled up through java2d, and that
+ * {@link TexturePreprocessor#build() building} an image gives the same pixels as
+ * the original pass over the image per {@link Color} replacement did.
+ */
+public class TexturePreprocessorTest {
+
+    // the extra scales the scenes ask for, on top of the resolution's
+    private static final double[] SCALES = { 1, 1.25, 2, 3, 4 };
+    // no color, the colors the scenes use, and one with every channel different
+    private static final Color[] COLORS = { null, Color.WHITE, Color.RED, new Color(30, 144, 255) };
+    // the same as the preprocessor's
+    private static final Color BACKGROUND = Color.BLACK;
+    private static final Color[] COLOR_SWATCH = {
+            new Color(64, 64, 64),
+            new Color(128, 128, 128),
+            new Color(192, 192, 192),
+            new Color(255, 255, 255)
+    };
+
+    @Test
+    public void blitMatchesDrawingEveryTexture() {
+        int compared = 0;
+        for (Texture texture : Texture.values()) {
+            BufferedImage image = texture.asSharedImage();
+            assertTrue(texture + " failed to load", image != null);
+            compared += compareAtEveryScale(texture.name(), image);
+            // text is laid out as ARGB, which is what is blitted most
+            compared += compareAtEveryScale(texture.name() + " as ARGB", toArgb(image));
+        }
+        assertTrue("nothing could be blitted", compared > 0);
+    }
+
+    @Test
+    public void blitMatchesDrawingText() {
+        BufferedImage text = GlyphAtlas.getAtlas().layout("The quick brown fox, 0123456789!");
+        assertTrue(compareAtEveryScale("text", text) > 0);
+    }
+
+    @Test
+    public void buildMatchesSwatchPassesForEveryTexture() {
+        for (Texture texture : Texture.values())
+            compareBuilds(texture.name(), () -> new TexturePreprocessor(texture), texture::asImage);
+    }
+
+    @Test
+    public void buildMatchesSwatchPassesForText() {
+        String text = "The quick brown fox, 0123456789!";
+        compareBuilds("text", () -> new TexturePreprocessor(text), () -> GlyphAtlas.getAtlas().layout(text));
+    }
+
+    @Test
+    public void partlyTranslucentPixelsAreNotBlitted() {
+        BufferedImage image = new BufferedImage(2, 1, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFF123456);
+        image.setRGB(1, 0, 0x80123456);
+        assertFalse(TexturePreprocessor.canBlit(image, pixels(image)));
+    }
+
+    private static int compareAtEveryScale(String name, BufferedImage image) {
+        int[] pixels = pixels(image);
+        if (!TexturePreprocessor.canBlit(image, pixels))
+            return 0;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        List<String> mismatches = new ArrayList<>();
+        for (Resolution resolution : Resolution.values) {
+            for (double scale : SCALES) {
+                double scalar = resolution.getScalar() * scale;
+                int newWidth = (int) (width * scalar);
+                int newHeight = (int) (height * scalar);
+                int[] expected = pixels(draw(image, newWidth, newHeight));
+                int[] actual = pixels(TexturePreprocessor.blit(pixels, width, height, newWidth, newHeight));
+                try {
+                    assertArrayEquals(expected, actual);
+                } catch (AssertionError e) {
+                    mismatches.add(resolution + " x" + scale);
+                }
+            }
+        }
+        assertTrue(name + " differs at " + mismatches, mismatches.isEmpty());
+        return 1;
+    }
+
+    private static void compareBuilds(String name, Supplier<TexturePreprocessor> preprocessor, Supplier<BufferedImage> source) {
+        double base = Config.getConfig().getRenderScalar();
+        List<String> mismatches = new ArrayList<>();
+        for (Resolution resolution : Resolution.values) {
+            for (double scale : SCALES) {
+                // scaled to the resolution from whatever the config renders at
+                double extra = resolution.getScalar() * scale / base;
+                for (Color color : COLORS) {
+                    for (boolean removeBg : new boolean[] { false, true }) {
+                        TexturePreprocessor built = preprocessor.get().scale(extra);
+                        if (color != null)
+                            built.color(color);
+                        if (removeBg)
+                            built.removeBackground();
+                        BufferedImage image = source.get();
+                        assertTrue(name + " failed to load", image != null);
+                        int[] expected = pixels(buildBySwatch(image, color, removeBg, base * extra));
+                        if (!Arrays.equals(expected, pixels(built.build())))
+                            mismatches.add(resolution + " x" + scale + " " + color + (removeBg ? " without background" : ""));
+                    }
+                }
+            }
+        }
+        assertTrue(name + " differs at " + mismatches, mismatches.isEmpty());
+    }
+
+    /**
+     * Builds the image the way the preprocessor originally did,
+     * with a pass over every pixel per replaced {@link Color}.
+     */
+    private static BufferedImage buildBySwatch(BufferedImage image, Color color, boolean removeBg, double scalar) {
+        if (removeBg) {
+            int rgb = BACKGROUND.getRGB();
+            for (int i = 0; i < image.getWidth(); i++) {
+                for (int j = 0; j < image.getHeight(); j++) {
+                    if (image.getRGB(i, j) != rgb)
+                        continue;
+                    image.setRGB(i, j, TRANSLUCENT);
+                }
+            }
+        }
+        if (color != null) {
+            for (Color swatch : COLOR_SWATCH) {
+                double luminance = (0.2126 * swatch.getRed()) + (0.7152 * swatch.getGreen()) + (0.0722 * swatch.getBlue());
+                Color adjusted = new Color(
+                        (int) (color.getRed() * luminance / 255),
+                        (int) (color.getGreen() * luminance / 255),
+                        (int) (color.getBlue() * luminance / 255)
+                );
+                int rgb = swatch.getRGB();
+                int rgbAdjusted = adjusted.getRGB();
+                for (int i = 0; i < image.getWidth(); i++) {
+                    for (int j = 0; j < image.getHeight(); j++) {
+                        if (image.getRGB(i, j) != rgb)
+                            continue;
+                        image.setRGB(i, j, rgbAdjusted);
+                    }
+                }
+            }
+        }
+        return draw(image, (int) (image.getWidth() * scalar), (int) (image.getHeight() * scalar));
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage drawn = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = drawn.getGraphics();
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return drawn;
+    }
+
+    private static BufferedImage toArgb(BufferedImage image) {
+        BufferedImage argb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        argb.setRGB(0, 0, image.getWidth(), image.getHeight(), pixels(image), 0, image.getWidth());
+        return argb;
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB)
+            return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+}
@@ -0,0 +1,181 @@
+package dev.glitchedcoder.hangman.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sends requests through {@link ApiRequest} to a stub server on localhost,
+ * which answers however the test in progress tells it to.
+ */
+public class ApiRequestTest {
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static URI uri;
+    private static volatile HttpHandler handler;
+
+    private static final String WORD = "{\"word\":\"hangman\"}";
+    private static final String ERROR = "{\"error\":\"try again\"}";
+
+    @BeforeClass
+    public static void start() throws IOException {
+        // the config is created in the home directory the first time ApiRequest is used
+        File home = new File(System.getProperty("user.home"));
+        assertTrue(home.isDirectory() || home.mkdirs());
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/word", exchange -> handler.handle(exchange));
+        server.setExecutor(executor);
+        server.start();
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/word");
+    }
+
+    @AfterClass
+    public static void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentRequestsShareKeptAliveConnections() throws Exception {
+        Set<Integer> connections = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        handler = exchange -> {
+            connections.add(exchange.getRemoteAddress().getPort());
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(150);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            respond(exchange, 200, WORD);
+        };
+        int requests = 12;
+        ExecutorService clients = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < requests; i++)
+                statuses.add(clients.submit(() -> status(deadline(5))));
+            for (Future<Integer> status : statuses)
+                assertEquals(200, (int) status.get(10, TimeUnit.SECONDS));
+        } finally {
+            clients.shutdownNow();
+        }
+        assertTrue("requests did not overlap", mostRunning.get() > 1);
+        // the pool holds at most 4 connections, which are reused rather than reopened
+        assertTrue("opened " + connections.size() + " connections", connections.size() <= 4);
+    }
+
+    @Test
+    public void retriesServerErrorUntilOk() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        handler = exchange -> {
+            if (calls.incrementAndGet() == 1)
+                respond(exchange, 503, ERROR);
+            else
+                respond(exchange, 200, WORD);
+        };
+        long retries = ApiRequest.getRetries();
+        try (CloseableHttpResponse response = ApiRequest.execute(uri, deadline(5), false)) {
+            assertNotNull(response);
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals(WORD, EntityUtils.toString(response.getEntity()));
+        }
+        assertEquals(2, calls.get());
+        assertEquals(1, ApiRequest.getRetries() - retries);
+    }
+
+    @Test
+    public void waitsForRetryAfterWhenRatelimited() throws Exception {
+        List<Long> arrivals = new ArrayList<>();
+        handler = exchange -> {
+            synchronized (arrivals) {
+                arrivals.add(System.nanoTime());
+            }
+            if (arrivals.size() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 429, ERROR);
+            } else
+                respond(exchange, 200, WORD);
+        };
+        try (CloseableHttpResponse response = ApiRequest.execute(uri, deadline(5), false)) {
+            assertNotNull(response);
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            EntityUtils.consume(response.getEntity());
+        }
+        assertEquals(2, arrivals.size());
+        long waited = arrivals.get(1) - arrivals.get(0);
+        assertTrue("retried after " + waited + "ns", waited >= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void givesUpOnPermanentServerError() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        handler = exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 503, ERROR);
+        };
+        long retries = ApiRequest.getRetries();
+        long start = System.nanoTime();
+        long deadline = deadline(5);
+        try (CloseableHttpResponse response = ApiRequest.execute(uri, deadline, false)) {
+            assertNotNull(response);
+            assertEquals(503, response.getStatusLine().getStatusCode());
+            EntityUtils.consume(response.getEntity());
+        }
+        assertTrue("gave up after the deadline", System.nanoTime() < deadline);
+        assertTrue("gave up too early", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(750));
+        assertEquals(3, calls.get());
+        assertEquals(2, ApiRequest.getRetries() - retries);
+    }
+
+    private static int status(long deadline) throws IOException {
+        try (CloseableHttpResponse response = ApiRequest.execute(uri, deadline, false)) {
+            assertNotNull(response);
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode();
+        }
+    }
+
+    private static long deadline(long seconds) {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        // a known length keeps the connection alive, the stub server closes it after a response without a body
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package dev.glitchedcoder.hangman.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+
+    @Test
+    public void burstIsLetThroughWithoutWaiting() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1, TimeUnit.HOURS, 3);
+        for (int i = 0; i < 3; i++)
+            assertEquals(0, limiter.tryAcquire(0, TimeUnit.NANOSECONDS));
+        assertEquals(-1, limiter.tryAcquire(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void waitsForTheNextToken() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(100, TimeUnit.MILLISECONDS, 1);
+        assertEquals(0, limiter.tryAcquire(0, TimeUnit.NANOSECONDS));
+        long start = System.nanoTime();
+        long wait = limiter.tryAcquire(1, TimeUnit.SECONDS);
+        assertTrue("waited " + wait + "ns", wait > 0);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    public void rejectedCallersDoNotTakeTokens() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(100, TimeUnit.MILLISECONDS, 1);
+        assertEquals(0, limiter.tryAcquire(0, TimeUnit.NANOSECONDS));
+        for (int i = 0; i < 5; i++)
+            assertEquals(-1, limiter.tryAcquire(0, TimeUnit.NANOSECONDS));
+        // had the rejected callers reserved tokens, this would have to wait for all of them
+        assertTrue(limiter.tryAcquire(150, TimeUnit.MILLISECONDS) >= 0);
+    }
+}